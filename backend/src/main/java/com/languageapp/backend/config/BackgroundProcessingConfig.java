@@ -0,0 +1,65 @@
+package com.languageapp.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Scheduling and the worker pools used for work moved off the request thread (outbox events, admin batch jobs,
+ * parallel reads of a request).
+ */
+@Configuration
+@EnableScheduling
+public class BackgroundProcessingConfig {
+
+    /**
+     * Bounded pool processing outbox events. When the queue is full the polling thread runs the event
+     * itself, which naturally slows down claiming instead of dropping work.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor outboxExecutor(@Value("${app.outbox.worker-threads:4}") int workerThreads,
+                                                 @Value("${app.outbox.batch-size:50}") int batchSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(batchSize);
+        executor.setThreadNamePrefix("outbox-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Single thread running admin-triggered batch jobs (difficulty recomputation). Jobs guard against
+     * concurrent starts themselves, so nothing is queued.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("batch-job-");
+        return executor;
+    }
+
+    /**
+     * Pool running the independent database reads of a single request in parallel (lesson bundle).
+     * When it is saturated the request thread runs the read itself, so a burst degrades to sequential reads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor lessonReadExecutor(@Value("${app.lesson.read-threads:8}") int readThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(readThreads);
+        executor.setMaxPoolSize(readThreads);
+        executor.setQueueCapacity(readThreads * 4);
+        executor.setThreadNamePrefix("lesson-read-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
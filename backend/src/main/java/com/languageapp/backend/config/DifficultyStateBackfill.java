@@ -0,0 +1,47 @@
+package com.languageapp.backend.config;
+
+import com.languageapp.backend.service.UserDifficultyCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the adaptive difficulty state of users whose results predate it.
+ * <p>
+ * Runs at startup in batches (one transaction per batch) and only touches users without a state,
+ * so it is a no-op once every user has been backfilled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DifficultyStateBackfill implements CommandLineRunner {
+
+    private final UserDifficultyCalculator userDifficultyCalculator;
+
+    @Value("${app.difficulty.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.difficulty.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(String @NonNull ... args) {
+        if (!enabled) {
+            return;
+        }
+
+        int total = 0;
+        int created;
+        do {
+            created = userDifficultyCalculator.backfillNextBatch(batchSize);
+            total += created;
+        } while (created > 0);
+
+        if (total > 0) {
+            log.info("Backfilled the adaptive difficulty state of {} users.", total);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.languageapp.backend.config;
+
+import com.languageapp.backend.entity.content.ExerciseContent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the {@value ExerciseContent#KIND} discriminator to exercise content stored before it existed.
+ * <p>
+ * Runs while the context starts (after Hibernate has updated the schema), before the web server accepts
+ * requests and before any exercise is loaded: without the discriminator every content would be read as free text.
+ * A single statement that only touches rows without a kind, so it is a no-op once the data has been migrated.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class ExerciseContentBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void backfill() {
+        int updated = jdbcTemplate.update("UPDATE exercises SET content = jsonb_set(content, '{" + ExerciseContent.KIND
+                + "}', to_jsonb(type)) WHERE content IS NOT NULL AND type IS NOT NULL AND content->>'"
+                + ExerciseContent.KIND + "' IS NULL");
+        if (updated > 0) {
+            log.info("Added the content kind to {} exercises.", updated);
+        }
+    }
+}
@@ -1,23 +1,65 @@
 package com.languageapp.backend.controller;
 
 import com.languageapp.backend.dto.request.TopicImportRequest;
+import com.languageapp.backend.dto.response.DifficultyRecomputeStatusResponse;
+import com.languageapp.backend.exception.BadRequestException;
 import com.languageapp.backend.service.CurriculumService;
+import com.languageapp.backend.service.DifficultyRecomputeService;
+import com.languageapp.backend.service.media.MediaIngestService;
+import com.languageapp.backend.service.media.MediaStore;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
+/**
+ * Administration endpoints. Restricted to the ADMIN role by the security filter chain.
+ */
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
 
     private final CurriculumService curriculumService;
+    private final DifficultyRecomputeService difficultyRecomputeService;
+    private final MediaIngestService mediaIngestService;
+    private final MediaStore mediaStore;
 
     @PostMapping("/curriculum/import")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> importCurriculum(@RequestBody TopicImportRequest request) {
+        // Downloads run before the import transaction is opened
+        if (request.isIngestMedia()) {
+            mediaIngestService.ingest(request);
+        }
         curriculumService.importTopicAndLessons(request);
         return ResponseEntity.ok("Curriculum imported successfully!");
     }
-}
\ No newline at end of file
+
+    @PostMapping("/difficulty/recompute")
+    public ResponseEntity<DifficultyRecomputeStatusResponse> startDifficultyRecompute() {
+        return ResponseEntity.accepted().body(difficultyRecomputeService.start());
+    }
+
+    @GetMapping("/difficulty/recompute")
+    public ResponseEntity<DifficultyRecomputeStatusResponse> getDifficultyRecomputeStatus() {
+        return ResponseEntity.ok(difficultyRecomputeService.getStatus());
+    }
+
+    /**
+     * Stores the request body as a media asset; the content type decides the file extension.
+     * The body is streamed into the store, which stops reading once it exceeds the size limit.
+     */
+    @PostMapping("/media")
+    public ResponseEntity<MediaStore.StoredMedia> uploadMedia(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                              HttpServletRequest request) throws IOException {
+        String extension = MediaStore.extensionOf(contentType)
+                .orElseThrow(() -> new BadRequestException("Unsupported media type: " + contentType));
+        if (request.getContentLengthLong() > mediaStore.maxSizeBytes()) {
+            throw new BadRequestException("Media asset exceeds " + mediaStore.maxSizeBytes() + " bytes");
+        }
+        return ResponseEntity.ok(mediaStore.store(request.getInputStream(), extension));
+    }
+}
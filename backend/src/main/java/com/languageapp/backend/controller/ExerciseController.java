@@ -1,12 +1,15 @@
 package com.languageapp.backend.controller;
 
+import com.languageapp.backend.dto.request.BatchExerciseCheckRequest;
 import com.languageapp.backend.dto.request.ExerciseCheckRequest;
 import com.languageapp.backend.dto.response.ExerciseCheckResponse;
 import com.languageapp.backend.service.EvaluationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,8 +24,8 @@ public class ExerciseController {
     private final EvaluationService evaluationService;
 
     /**
-     * Immediate feedback endpoint. Evaluates a single answer using Levenshtein distance
-     * and WordBank logic without returning the correct answer beforehand.
+     * Immediate feedback endpoint. Evaluates a single answer with the matcher of the exercise type
+     * (option index, bounded edit distance or word order) without returning the correct answer beforehand.
      */
     @PostMapping("/{exerciseId}/check")
     public ResponseEntity<ExerciseCheckResponse> checkExercise(
@@ -31,4 +34,15 @@ public class ExerciseController {
 
         return ResponseEntity.ok(evaluationService.checkSingleExercise(exerciseId, request.getAnswer()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch variant of the immediate feedback endpoint. Checks many (exerciseId, answer) pairs
+     * in one round trip and returns the verdicts in the order of the request.
+     */
+    @PostMapping("/check")
+    public ResponseEntity<List<ExerciseCheckResponse>> checkExercises(
+            @Valid @RequestBody BatchExerciseCheckRequest request) {
+
+        return ResponseEntity.ok(evaluationService.checkExercises(request.getChecks()));
+    }
+}
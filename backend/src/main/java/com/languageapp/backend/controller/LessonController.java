@@ -4,17 +4,25 @@ import com.languageapp.backend.dto.request.ExerciseCheckRequest;
 import com.languageapp.backend.dto.request.LessonSubmitRequest;
 import com.languageapp.backend.dto.response.ExerciseCheckResponse;
 import com.languageapp.backend.dto.response.ExerciseResponse;
+import com.languageapp.backend.dto.response.LessonBundleResponse;
+import com.languageapp.backend.dto.response.LessonCatalogPageResponse;
 import com.languageapp.backend.dto.response.LessonResponse;
 import com.languageapp.backend.dto.response.LessonSubmitResponse;
-import com.languageapp.backend.service.EvaluationService;
 import com.languageapp.backend.service.LessonService;
 import com.languageapp.backend.service.UserService;
+import com.languageapp.backend.service.curriculum.EncodedJson;
+import com.languageapp.backend.service.submission.LessonSubmissionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -24,6 +32,7 @@ import java.util.UUID;
  * <p>
  * Exposes endpoints for the frontend to fetch available lessons
  * and their corresponding interactive exercises.
+ * Both read endpoints support conditional requests: a matching {@code If-None-Match} is answered with 304.
  */
 @Slf4j
 @RestController
@@ -32,41 +41,126 @@ import java.util.UUID;
 public class LessonController {
 
     private final LessonService lessonService;
-    private final EvaluationService evaluationService;
+    private final LessonSubmissionService lessonSubmissionService;
     private final UserService userService;
 
+    /** Responses are user specific: clients may keep them, but must revalidate them with the ETag. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /** Response header carrying the attempt of a sampled lesson, to be sent back as the submission's {@code attemptId}. */
+    public static final String ATTEMPT_HEADER = "X-Lesson-Attempt";
+
     /**
      * Retrieves a list of available lessons tailored to the authenticated user's difficulty level.
      *
      * @param authentication the current authenticated user's security context
-     * @return a {@link ResponseEntity} containing a list of {@link LessonResponse}
+     * @param webRequest the current request, used to evaluate {@code If-None-Match}
+     * @return a {@link ResponseEntity} containing a list of {@link LessonResponse}, or 304 if the client's copy is current
      */
     @GetMapping
-    public ResponseEntity<List<LessonResponse>> getAllLessons(Authentication authentication) {
+    public ResponseEntity<List<LessonResponse>> getAllLessons(Authentication authentication, WebRequest webRequest) {
         log.info("REST request to get all lessons for authenticated user");
 
         String userEmail = authentication.getName();
+        LessonService.TailoredLessons lessons = lessonService.getAllLessonsForUser(userEmail);
 
-        return ResponseEntity.ok(lessonService.getAllLessonsForUser(userEmail));
+        if (webRequest.checkNotModified(lessons.etag())) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(lessons.etag()).body(lessons.lessons());
+    }
+
+    /**
+     * Browses the lesson catalog with keyset pagination and optional filters.
+     * Students always see the lessons of their target difficulty.
+     *
+     * @param difficulty optional difficulty filter (ignored for students)
+     * @param topicId optional topic filter
+     * @param language optional language filter
+     * @param after the {@code nextCursor} of the previous page; omitted for the first page
+     * @param size the page size (at most {@value LessonService#MAX_CATALOG_PAGE_SIZE})
+     * @param authentication the current authenticated user's security context
+     * @return a {@link ResponseEntity} containing one {@link LessonCatalogPageResponse}
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<LessonCatalogPageResponse> getLessonCatalog(
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) UUID topicId,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        log.info("REST request to browse the lesson catalog");
+        return ResponseEntity.ok(lessonService.getLessonCatalog(
+                authentication.getName(), difficulty, topicId, language, after, size));
     }
 
     /**
      * Retrieves all safe exercises (without answers) for a specific lesson.
      *
+     * The tag is checked first, so a revalidation of unchanged content costs no database access at all.
+     * The body is written from pre-serialized bytes, gzip compressed if the client accepts it.
+     * A sampled lesson serves a new attempt on every call: it has no tag, must not be stored, and its
+     * attempt ID is sent in the {@value #ATTEMPT_HEADER} header.
+     *
      * @param id the UUID of the requested lesson
-     * @return a {@link ResponseEntity} containing a list of {@link ExerciseResponse}
+     * @param acceptEncoding the {@code Accept-Encoding} request header
+     * @param webRequest the current request, used to evaluate {@code If-None-Match}
+     * @return a {@link ResponseEntity} containing a JSON list of {@link ExerciseResponse}, or 304 if the client's copy is current
      */
     @GetMapping("/{id}/exercises")
-    public ResponseEntity<List<ExerciseResponse>> getExercisesByLesson(@PathVariable UUID id, Authentication authentication) {
+    public ResponseEntity<byte[]> getExercisesByLesson(@PathVariable UUID id, Authentication authentication,
+                                                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                       WebRequest webRequest) {
         log.info("REST request to fetch exercises for lesson ID: {}", id);
-        return ResponseEntity.ok(lessonService.getExercisesByLessonId(id, authentication.getName()));
+
+        // Read the tag before the body: the body is then never older than the tag sent with it.
+        // Gzip capable clients get their own tag, a strong tag must not cover two different encodings.
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = lessonService.getExercisesETag(id).map(hash -> gzip ? hash + "-gzip" : hash).orElse(null);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return notModified();
+        }
+
+        LessonService.LessonExercises served = lessonService.getExercisesByLessonId(id, authentication.getName());
+        EncodedJson exercises = served.exercises();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (served.attemptId() != null) {
+            response.cacheControl(CacheControl.noStore()).header(ATTEMPT_HEADER, served.attemptId().toString());
+        } else {
+            response.cacheControl(REVALIDATE).eTag(etag);
+        }
+
+        if (gzip && exercises.gzip() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(exercises.gzip());
+        }
+        return response.body(exercises.json());
+    }
+
+    /**
+     * Retrieves the lesson, its safe exercises and the caller's progress on it in a single call,
+     * replacing the separate lesson, exercise and progress requests made when a lesson is started.
+     *
+     * @param id the UUID of the requested lesson
+     * @param authentication the current authenticated user's security context
+     * @return a {@link ResponseEntity} containing the {@link LessonBundleResponse}
+     */
+    @GetMapping("/{id}/bundle")
+    public ResponseEntity<LessonBundleResponse> getLessonBundle(@PathVariable UUID id, Authentication authentication) {
+        log.info("REST request to fetch the bundle of lesson ID: {}", id);
+        return ResponseEntity.ok(lessonService.getLessonBundle(id, authentication.getName()));
     }
 
     /**
      * Submits a completed lesson for evaluation.
+     * Retries carrying the same {@code Idempotency-Key} header return the original result instead of a new one.
      *
      * @param id the UUID of the lesson
      * @param request the submission payload
+     * @param idempotencyKey optional client generated key identifying this submission
      * @param authentication the current authenticated user's security context
      * @return a {@link ResponseEntity} containing the evaluation results
      */
@@ -74,6 +168,7 @@ public class LessonController {
     public ResponseEntity<LessonSubmitResponse> submitLesson(
             @PathVariable UUID id,
             @Valid @RequestBody LessonSubmitRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
 
         log.info("REST request to submit answers for lesson ID: {}", id);
@@ -81,8 +176,34 @@ public class LessonController {
         // Get user email from SecurityContext.
         String userEmail = authentication.getName();
         UUID userId = userService.getUserProfile(userEmail).getUserId();
-        LessonSubmitResponse response = evaluationService.evaluateLesson(userId, id, request);
+        LessonSubmitResponse response = lessonSubmissionService.submit(userId, id, request, idempotencyKey);
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * 304 response. {@link WebRequest#checkNotModified(String)} already wrote the ETag; the caching
+     * policy is repeated so the client's stored copy keeps it.
+     */
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * @return {@code true} if the {@code Accept-Encoding} header lists gzip (or {@code *}) without {@code q=0}
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                return !refused;
+            }
+        }
+        return false;
+    }
+}
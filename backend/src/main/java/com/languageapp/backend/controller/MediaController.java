@@ -0,0 +1,143 @@
+package com.languageapp.backend.controller;
+
+import com.languageapp.backend.exception.ResourceNotFoundException;
+import com.languageapp.backend.service.media.MediaStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves the assets of the {@link MediaStore}.
+ * <p>
+ * Assets are addressed by content hash and never change, so they are public, cacheable for a year and marked
+ * immutable. Single byte ranges are supported ({@code Range}/{@code If-Range}) for audio seeking.
+ * Larger bodies are handed to the servlet container's sendfile support (the kernel copies the file to the
+ * socket without passing through the JVM); smaller ones are written with {@link FileChannel#transferTo}.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+public class MediaController {
+
+    private final MediaStore mediaStore;
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+            .getHeaderValue();
+    /** Neutralizes scripts of SVG assets opened directly instead of through an {@code <img>} tag. */
+    private static final String CONTENT_SECURITY_POLICY = "default-src 'none'; style-src 'unsafe-inline'; sandbox";
+
+    // Tomcat request attributes of the sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    /** Below this size a plain write is cheaper than setting up sendfile (Tomcat's own default servlet threshold). */
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    /**
+     * Streams an asset, or the requested byte range of it.
+     *
+     * @param key the content address of the asset ({@code <sha256>.<extension>})
+     * @throws ResourceNotFoundException if no asset is stored under the key
+     */
+    @GetMapping("/{key}")
+    public void getMedia(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = mediaStore.find(key)
+                .orElseThrow(() -> new ResourceNotFoundException("No media found with this key!"));
+        long length = Files.size(file);
+        String etag = "\"" + key + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("Content-Security-Policy", CONTENT_SECURITY_POLICY);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentType(mediaStore.contentTypeOf(key).toString());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             OutputStream out = response.getOutputStream()) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position <= end) {
+                long written = channel.transferTo(position, end + 1 - position, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+        }
+    }
+
+    /**
+     * @return the single byte range to serve, or {@code null} for the whole asset: no {@code Range} header,
+     * an {@code If-Range} for another version, a malformed header or several ranges (all served in full)
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed Range header: {}", header);
+            return null;
+        }
+    }
+}
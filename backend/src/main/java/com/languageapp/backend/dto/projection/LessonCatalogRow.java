@@ -0,0 +1,15 @@
+package com.languageapp.backend.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * A lesson of the catalog with the name of its topic, read by a single projection query.
+ */
+public interface LessonCatalogRow {
+    UUID getLessonId();
+    String getTopicName();
+    String getTitle();
+    String getDifficulty();
+    String getLanguage();
+    String getDescription();
+}
@@ -0,0 +1,20 @@
+package com.languageapp.backend.dto.projection;
+
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.LessonAttempt;
+import com.languageapp.backend.entity.Progress;
+import com.languageapp.backend.entity.User;
+import com.languageapp.backend.entity.UserDifficultyState;
+
+/**
+ * Read model for a lesson submission: everything the evaluation needs, loaded by one query.
+ *
+ * @param user     the submitting user
+ * @param lesson   the submitted lesson (its exercises are not initialized)
+ * @param progress the user's existing progress on the lesson, or {@code null} on the first attempt
+ * @param difficultyState the user's adaptive difficulty state, or {@code null} before the first result
+ * @param attempt  the submitted attempt of a sampled lesson, or {@code null} if none was submitted or it is unknown
+ */
+public record LessonSubmissionContext(User user, Lesson lesson, Progress progress, UserDifficultyState difficultyState,
+                                      LessonAttempt attempt) {
+}
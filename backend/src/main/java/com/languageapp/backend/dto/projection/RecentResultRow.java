@@ -0,0 +1,13 @@
+package com.languageapp.backend.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * One of the most recent results of a user, as read by the difficulty state backfill.
+ */
+public interface RecentResultRow {
+    UUID getUserId();
+    Integer getScore();
+    String getDifficulty();
+    Long getAttempts();
+}
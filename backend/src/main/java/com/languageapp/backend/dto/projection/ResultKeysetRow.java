@@ -0,0 +1,15 @@
+package com.languageapp.backend.dto.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A result row streamed by the difficulty recomputation, with the keyset position it was read at.
+ */
+public interface ResultKeysetRow {
+    UUID getUserId();
+    UUID getResultId();
+    LocalDateTime getSubmittedAt();
+    Integer getScore();
+    String getDifficulty();
+}
@@ -0,0 +1,10 @@
+package com.languageapp.backend.dto.projection;
+
+/**
+ * The per-user figures achievement rules are evaluated against, read by a single aggregate query.
+ */
+public interface UserAchievementStatsRow {
+    Integer getXp();
+    Integer getStreak();
+    Long getCompletedLessons();
+}
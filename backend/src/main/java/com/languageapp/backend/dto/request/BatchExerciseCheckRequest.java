@@ -0,0 +1,39 @@
+package com.languageapp.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for checking several answers in a single round trip.
+ * The verdicts are returned in the same order as the submitted checks.
+ */
+@Data
+public class BatchExerciseCheckRequest {
+
+    @NotEmpty(message = "The list of checks can not be empty!")
+    @Size(max = 100, message = "At most 100 answers can be checked at once!")
+    @Valid
+    private List<Item> checks;
+
+    /**
+     * A single (exerciseId, answer) pair inside the batch.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "exerciseId must not be empty!")
+        private UUID exerciseId;
+
+        private String answer;
+    }
+}
@@ -7,6 +7,11 @@ import java.util.Map;
 public class ExerciseImportRequest {
     private String type;
     private Map<String, Object> content;
+    /**
+     * The answer key: {@code "answer"} (canonical), optional {@code "alternatives"} (list of other
+     * accepted phrasings) and optional {@code "patterns"} (regular expressions over the normalized answer).
+     */
     private Map<String, Object> correctAnswer;
     private String imageUrl;
+    private String audioUrl;
 }
\ No newline at end of file
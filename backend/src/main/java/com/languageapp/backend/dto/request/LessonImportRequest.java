@@ -9,5 +9,7 @@ public class LessonImportRequest {
     private String difficulty;
     private String description;
     private String language;
+    /** Optional: serve the exercises as an item bank, drawing this many per attempt. */
+    private Integer sampleSize;
     private List<ExerciseImportRequest> exercises;
 }
\ No newline at end of file
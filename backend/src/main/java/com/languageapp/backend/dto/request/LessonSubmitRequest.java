@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * DTO for evaluating the whole lesson (request from frontend)
@@ -14,6 +15,9 @@ import java.util.List;
 public class LessonSubmitRequest {
     private Integer timeTakenSeconds = 0;
 
+    /** The attempt the answers belong to; required for sampled lessons (see the {@code X-Lesson-Attempt} header). */
+    private UUID attemptId;
+
     @NotEmpty(message = "The List of answers can not be empty")
     @Valid // Tells Spring to validate items in the List as well.
     private List<ExerciseSubmission> answers;
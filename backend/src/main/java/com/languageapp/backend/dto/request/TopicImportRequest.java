@@ -8,4 +8,6 @@ public class TopicImportRequest {
     private String topicName;
     private String description;
     private List<LessonImportRequest> lessons;
+    /** Copies the external image and audio URLs of the exercises into the local media store before importing. */
+    private boolean ingestMedia;
 }
\ No newline at end of file
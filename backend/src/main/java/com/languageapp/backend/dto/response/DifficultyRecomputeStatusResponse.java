@@ -0,0 +1,24 @@
+package com.languageapp.backend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of the admin-triggered recomputation of every user's target difficulty.
+ */
+@Data
+@Builder
+public class DifficultyRecomputeStatusResponse {
+    private UUID jobId;
+    private String status; // IDLE, RUNNING, COMPLETED or FAILED
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long resultsProcessed;
+    private long usersProcessed;
+    private long usersMoved; // users whose target difficulty changed
+    private double resultsPerSecond;
+    private String error;
+}
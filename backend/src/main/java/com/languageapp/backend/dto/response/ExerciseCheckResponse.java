@@ -4,11 +4,14 @@ import lombok.NoArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.UUID;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ExerciseCheckResponse {
+    private UUID exerciseId;
     private boolean isCorrect;
     private boolean isAlmostCorrect;
     //private String correctAnswer;
@@ -1,10 +1,10 @@
 package com.languageapp.backend.dto.response;
 
+import com.languageapp.backend.entity.content.ExerciseContent;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -21,7 +21,7 @@ public class ExerciseResponse {
     private UUID lessonId;
     private String type;
 
-    private Map<String, Object> content;
+    private ExerciseContent content;
 
     private String audioUrl;
     private String imageUrl;
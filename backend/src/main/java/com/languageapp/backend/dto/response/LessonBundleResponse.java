@@ -0,0 +1,29 @@
+package com.languageapp.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Everything needed to start a lesson in one response: the lesson, its safe exercises and the caller's progress.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonBundleResponse {
+    private LessonResponse lesson;
+
+    /** JSON array of {@link ExerciseResponse}, written as is from the pre-serialized curriculum snapshot. */
+    @JsonRawValue
+    private String exercises;
+
+    private ProgressResponse progress; // null if the lesson was never attempted
+
+    /** The attempt to submit the answers with; null unless the lesson is sampled. */
+    private UUID attemptId;
+}
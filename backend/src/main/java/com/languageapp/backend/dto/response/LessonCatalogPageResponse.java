@@ -0,0 +1,21 @@
+package com.languageapp.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the lesson catalog.
+ * The next page is requested by passing {@code nextCursor} as the {@code after} parameter.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonCatalogPageResponse {
+    private List<LessonResponse> lessons;
+    private String nextCursor; // null on the last page
+}
@@ -1,19 +1,31 @@
 package com.languageapp.backend.entity;
 
+import com.languageapp.backend.entity.content.AnswerKey;
+import com.languageapp.backend.entity.content.AnswerKeyType;
+import com.languageapp.backend.entity.content.ExerciseContent;
+import com.languageapp.backend.entity.content.ExerciseContentType;
 import jakarta.persistence.*;
 
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Type;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
-import java.util.Map;
 import java.util.UUID;
 
+/**
+ * An exercise of a lesson. Exercises are only ever inserted (by the curriculum import) and deleted with their lesson,
+ * so they are loaded read-only: Hibernate keeps no snapshot of them and never dirty checks them on flush.
+ */
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @Table(name = "exercises")
 
 public class Exercise {
@@ -30,13 +42,13 @@ public class Exercise {
     @Column(nullable = false, length = 50)
     private String type;
 
-    @JdbcTypeCode(SqlTypes.JSON)
+    @Type(ExerciseContentType.class)
     @Column(columnDefinition = "jsonb")
-    private Map<String, Object> content;
+    private ExerciseContent content;
 
-    @JdbcTypeCode(SqlTypes.JSON)
+    @Type(AnswerKeyType.class)
     @Column(name = "correct_answer", columnDefinition = "jsonb")
-    private Map<String, Object> correctAnswer;
+    private AnswerKey correctAnswer;
 
     @Column(name = "audio_url", columnDefinition = "TEXT")
     private String audioUrl;
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -12,7 +14,12 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "lessons")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "lessons", indexes = {
+        // Keyset order of the lesson catalog within a difficulty
+        @Index(name = "idx_lessons_difficulty_title", columnList = "difficulty, title, lesson_id")
+})
 
 public class Lesson {
 
@@ -24,6 +31,7 @@ public class Lesson {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topic_id", nullable = false)
     private LessonTopic topic;
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "lesson", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Exercise> exercises = new ArrayList<>();
 
@@ -38,4 +46,8 @@ public class Lesson {
 
     @Column(columnDefinition = "TEXT")
     private String description;
+
+    /** Number of exercises drawn per attempt; {@code null} serves every exercise of the lesson. */
+    @Column(name = "sample_size")
+    private Integer sampleSize;
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.languageapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One delivery of a sampled lesson: the exercises drawn from the lesson's item bank for a user.
+ * The submission of the attempt is graded against exactly these exercises, once.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "lesson_attempts", indexes = {
+        @Index(name = "idx_lesson_attempts_user_lesson", columnList = "user_id, lesson_id, created_at")
+})
+
+public class LessonAttempt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "attempt_id", updatable = false, nullable = false)
+    private UUID attemptId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lesson_id", nullable = false, updatable = false)
+    private Lesson lesson;
+
+    /** Seed of the selection; the same seed over the same item bank draws the same exercises. */
+    @Column(nullable = false, updatable = false)
+    private Long seed;
+
+    /** The served exercises, in the order they were served. */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "served_exercise_ids", columnDefinition = "uuid[]", nullable = false, updatable = false)
+    private UUID[] servedExerciseIds;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /** Set when the attempt is graded; a submitted attempt cannot be submitted again. */
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+}
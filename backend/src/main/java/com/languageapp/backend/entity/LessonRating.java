@@ -0,0 +1,39 @@
+package com.languageapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Persisted Elo difficulty rating of a lesson, learned from the submissions of all users.
+ * The live value is kept in memory by the skill rating store and written back periodically.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "lesson_ratings")
+
+public class LessonRating {
+
+    @Id
+    @Column(name = "lesson_id", updatable = false, nullable = false)
+    private UUID lessonId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lesson_id")
+    private Lesson lesson;
+
+    @Column(nullable = false)
+    private Double rating;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -11,7 +11,10 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "progress")
+@Table(name = "progress", indexes = {
+        // Progress of a user (per lesson, and the completed lesson count of the achievement rules)
+        @Index(name = "idx_progress_user_lesson", columnList = "user_id, lesson_id")
+})
 
 public class Progress {
 
@@ -11,7 +11,13 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "results")
+@Table(name = "results", indexes = {
+        // Per-user history in time order (recent results, keyset scans of the difficulty recomputation)
+        @Index(name = "idx_results_user_submitted_at", columnList = "user_id, submitted_at, result_id")
+}, uniqueConstraints = {
+        // Durable backstop of idempotent submissions: a retried request can never create a second result
+        @UniqueConstraint(name = "uk_results_user_idempotency_key", columnNames = {"user_id", "idempotency_key"})
+})
 
 public class Result {
 
@@ -53,4 +59,11 @@ public class Result {
 
     @Column(name = "total_questions_count")
     private Integer totalQuestionsCount;
-}
\ No newline at end of file
+
+    @Column(name = "xp_earned")
+    private Integer xpEarned;
+
+    /** Client supplied {@code Idempotency-Key} of the submission, {@code null} for submissions without one. */
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+}
@@ -0,0 +1,56 @@
+package com.languageapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Incrementally maintained input and output of the adaptive difficulty calculation of a user.
+ * Updated whenever a lesson result is saved, so reading the target difficulty never scans the results.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "user_difficulty_states")
+
+public class UserDifficultyState {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    /** Scores of the most recent results, newest first (at most five). */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "recent_scores", columnDefinition = "integer[]", nullable = false)
+    private int[] recentScores = new int[0];
+
+    /** Difficulty of the lesson of the most recent result. */
+    @Column(name = "last_difficulty", length = 20)
+    private String lastDifficulty;
+
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount = 0;
+
+    /** The adaptive difficulty computed from the fields above. */
+    @Column(name = "target_difficulty", nullable = false, length = 20)
+    private String targetDifficulty = "MEDIUM";
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,45 @@
+package com.languageapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Persisted Elo skill rating of a user in one lesson topic.
+ * The live value is kept in memory by the skill rating store and written back periodically.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "user_topic_ratings", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_topic_ratings_user_topic", columnNames = {"user_id", "topic_id"})
+})
+
+public class UserTopicRating {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "rating_id", updatable = false, nullable = false)
+    private UUID ratingId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "topic_id", nullable = false)
+    private LessonTopic topic;
+
+    @Column(nullable = false)
+    private Double rating;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.languageapp.backend.entity.content;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The answer key of an exercise.
+ *
+ * @param answer       the canonical answer (shown in the mistake summary), {@code null} if the exercise has no key
+ * @param alternatives other accepted phrasings
+ * @param patterns     regular expressions matched against the whole normalized answer (lowercase, no punctuation)
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record AnswerKey(String answer, List<String> alternatives, List<String> patterns) implements Serializable {
+
+    public AnswerKey {
+        alternatives = ExerciseContent.immutable(alternatives);
+        patterns = ExerciseContent.immutable(patterns);
+    }
+
+    public static AnswerKey of(String answer) {
+        return new AnswerKey(answer, List.of(), List.of());
+    }
+}
@@ -0,0 +1,11 @@
+package com.languageapp.backend.entity.content;
+
+/**
+ * Maps {@code exercises.correct_answer} to {@link AnswerKey}.
+ */
+public class AnswerKeyType extends JsonbRecordType<AnswerKey> {
+
+    public AnswerKeyType() {
+        super(AnswerKey.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.languageapp.backend.entity.content;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * What the learner is shown for an exercise, typed per {@code Exercise.type}.
+ * <p>
+ * Stored as JSONB with the exercise type in a {@value #KIND} property, which selects the record on load.
+ * Unknown types are read as {@link TypingContent}, just as they are checked as free text.
+ * Every implementation is immutable.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = ExerciseContent.KIND, defaultImpl = TypingContent.class)
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = MultipleChoiceContent.class, name = "MULTIPLE_CHOICE"),
+        @JsonSubTypes.Type(value = ImageChoiceContent.class, name = "IMAGE_CHOICE"),
+        @JsonSubTypes.Type(value = WordBankContent.class, name = "WORD_BANK"),
+        @JsonSubTypes.Type(value = TranslationContent.class, name = "TRANSLATION"),
+        @JsonSubTypes.Type(value = TypingContent.class, name = "TYPING")
+})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public sealed interface ExerciseContent extends Serializable
+        permits MultipleChoiceContent, ImageChoiceContent, WordBankContent, TranslationContent, TypingContent {
+
+    /** JSON property holding the exercise type. */
+    String KIND = "kind";
+
+    /**
+     * @return the prompt shown to the learner
+     */
+    String question();
+
+    /**
+     * @return the options of choice and word bank exercises in display order, empty for free text exercises
+     */
+    default List<String> options() {
+        return List.of();
+    }
+
+    /** Copies a list of strings into an immutable list ({@code null} becomes empty). */
+    static List<String> immutable(List<String> values) {
+        return values == null ? List.of() : List.copyOf(values);
+    }
+}
@@ -0,0 +1,11 @@
+package com.languageapp.backend.entity.content;
+
+/**
+ * Maps {@code exercises.content} to {@link ExerciseContent}.
+ */
+public class ExerciseContentType extends JsonbRecordType<ExerciseContent> {
+
+    public ExerciseContentType() {
+        super(ExerciseContent.class);
+    }
+}
@@ -0,0 +1,13 @@
+package com.languageapp.backend.entity.content;
+
+import java.util.List;
+
+/**
+ * Image choice exercise: the option matching the exercise image is the answer.
+ */
+public record ImageChoiceContent(String question, List<String> options) implements ExerciseContent {
+
+    public ImageChoiceContent {
+        options = ExerciseContent.immutable(options);
+    }
+}
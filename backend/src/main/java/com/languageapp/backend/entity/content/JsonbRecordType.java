@@ -0,0 +1,109 @@
+package com.languageapp.backend.entity.content;
+
+import org.hibernate.HibernateException;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.usertype.UserType;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.deser.jdk.StringDeserializer;
+import tools.jackson.databind.deser.std.StdScalarDeserializer;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Hibernate type reading a JSONB column straight into an immutable record instead of nested maps.
+ * <p>
+ * Every string read is canonicalized through the {@link StringPool}. Values are immutable, so they are
+ * never copied, never dirty-checked by content and go into the second-level cache as they are.
+ *
+ * @param <T> the record (or sealed interface) stored in the column
+ */
+public abstract class JsonbRecordType<T extends Serializable> implements UserType<T> {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .addModule(new SimpleModule("string-pool").addDeserializer(String.class, new PooledStringDeserializer()))
+            .build();
+
+    private final Class<T> type;
+
+    protected JsonbRecordType(Class<T> type) {
+        this.type = type;
+    }
+
+    @Override
+    public int getSqlType() {
+        return SqlTypes.JSON;
+    }
+
+    @Override
+    public Class<T> returnedClass() {
+        return type;
+    }
+
+    @Override
+    public T nullSafeGet(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+        String json = rs.getString(position);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(json, type);
+        } catch (JacksonException e) {
+            throw new HibernateException("Cannot read " + type.getSimpleName() + " from JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, T value, int index, WrapperOptions options) throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.OTHER);
+        } else {
+            // Sent untyped, so PostgreSQL casts the text to the jsonb column type
+            st.setObject(index, MAPPER.writeValueAsString(value), Types.OTHER);
+        }
+    }
+
+    @Override
+    public T deepCopy(T value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(T value) {
+        return value;
+    }
+
+    @Override
+    public T assemble(Serializable cached, Object owner) {
+        return type.cast(cached);
+    }
+
+    private static final class PooledStringDeserializer extends StdScalarDeserializer<String> {
+
+        PooledStringDeserializer() {
+            super(String.class);
+        }
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) {
+            String value = parser.hasToken(JsonToken.VALUE_STRING)
+                    ? parser.getString()
+                    : StringDeserializer.instance.deserialize(parser, context);
+            return StringPool.canonical(value);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.languageapp.backend.entity.content;
+
+import java.util.List;
+
+/**
+ * Multiple choice exercise: one of the options is the answer.
+ */
+public record MultipleChoiceContent(String question, List<String> options) implements ExerciseContent {
+
+    public MultipleChoiceContent {
+        options = ExerciseContent.immutable(options);
+    }
+}
@@ -0,0 +1,36 @@
+package com.languageapp.backend.entity.content;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes the strings read from exercise JSON, so the prompts, options and answers repeated across
+ * exercises ("Translate: ...", "Red", "Blue") are held once on the heap.
+ * <p>
+ * The curriculum is small and bounded, but the pool still stops growing at {@value #MAX_ENTRIES} entries
+ * and skips long strings, which are rarely repeated.
+ */
+final class StringPool {
+
+    private static final int MAX_ENTRIES = 100_000;
+    private static final int MAX_LENGTH = 200;
+
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    private StringPool() {
+    }
+
+    static String canonical(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        String pooled = POOL.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (POOL.size() >= MAX_ENTRIES) {
+            return value;
+        }
+        pooled = POOL.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+}
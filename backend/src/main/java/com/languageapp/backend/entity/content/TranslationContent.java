@@ -0,0 +1,7 @@
+package com.languageapp.backend.entity.content;
+
+/**
+ * Translation exercise: the learner types the translation of the question, optionally helped by a hint.
+ */
+public record TranslationContent(String question, String hint) implements ExerciseContent {
+}
@@ -0,0 +1,7 @@
+package com.languageapp.backend.entity.content;
+
+/**
+ * Free text exercise: the learner types the answer.
+ */
+public record TypingContent(String question, String hint) implements ExerciseContent {
+}
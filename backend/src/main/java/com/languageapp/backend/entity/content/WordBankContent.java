@@ -0,0 +1,13 @@
+package com.languageapp.backend.entity.content;
+
+import java.util.List;
+
+/**
+ * Word bank exercise: the answer is assembled from the given words.
+ */
+public record WordBankContent(String question, List<String> options) implements ExerciseContent {
+
+    public WordBankContent {
+        options = ExerciseContent.immutable(options);
+    }
+}
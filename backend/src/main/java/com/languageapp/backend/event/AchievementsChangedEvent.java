@@ -0,0 +1,13 @@
+package com.languageapp.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published when an achievement is created, changed or deleted.
+ * <p>
+ * Listeners holding compiled achievement rules use it as their invalidation signal.
+ *
+ * @param achievementId the ID of the changed achievement
+ */
+public record AchievementsChangedEvent(UUID achievementId) {
+}
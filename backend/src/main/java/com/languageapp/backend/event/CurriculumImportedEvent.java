@@ -0,0 +1,15 @@
+package com.languageapp.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published by the curriculum import once new topics, lessons
+ * or exercises have been written to the database.
+ * <p>
+ * Listeners holding derived, in-memory views of the curriculum use it as their
+ * invalidation signal.
+ *
+ * @param topicId the ID of the freshly imported topic
+ */
+public record CurriculumImportedEvent(UUID topicId) {
+}
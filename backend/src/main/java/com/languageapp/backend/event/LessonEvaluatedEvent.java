@@ -0,0 +1,17 @@
+package com.languageapp.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published by the lesson submission once a new result has been evaluated.
+ * <p>
+ * Listeners maintaining in-memory learner models consume it after the submission committed.
+ *
+ * @param userId           the submitting user
+ * @param topicId          the topic of the submitted lesson
+ * @param lessonId         the submitted lesson
+ * @param lessonDifficulty the difficulty label of the submitted lesson
+ * @param score            the score of the submission (0-100)
+ */
+public record LessonEvaluatedEvent(UUID userId, UUID topicId, UUID lessonId, String lessonDifficulty, int score) {
+}
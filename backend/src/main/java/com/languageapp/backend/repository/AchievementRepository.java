@@ -1,11 +1,23 @@
 package com.languageapp.backend.repository;
 
 import com.languageapp.backend.entity.Achievement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AchievementRepository extends JpaRepository<Achievement, UUID> {
-}
\ No newline at end of file
+
+    /**
+     * Every achievement, read on each evaluated submission. Served from the query and entity caches;
+     * any write to the {@code achievements} table invalidates the cached result.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Achievement> findAll();
+}
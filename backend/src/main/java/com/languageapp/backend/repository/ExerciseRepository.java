@@ -1,14 +1,35 @@
 package com.languageapp.backend.repository;
 
 import com.languageapp.backend.entity.Exercise;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ExerciseRepository extends JpaRepository<Exercise, UUID> {
 
     List<Exercise> findByLessonLessonId(UUID lessonId);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves a single exercise together with its lesson (needed for the lesson language).
+     */
+    @EntityGraph(attributePaths = {"lesson"})
+    Optional<Exercise> findWithLessonByExerciseId(UUID exerciseId);
+
+    /**
+     * Retrieves several exercises (with their lessons) in a single IN query.
+     */
+    @EntityGraph(attributePaths = {"lesson"})
+    List<Exercise> findWithLessonByExerciseIdIn(Collection<UUID> exerciseIds);
+
+    /**
+     * Retrieves every exercise of a topic (with their lessons), used to precompile a freshly imported topic.
+     */
+    @EntityGraph(attributePaths = {"lesson"})
+    List<Exercise> findWithLessonByLessonTopicTopicId(UUID topicId);
+}
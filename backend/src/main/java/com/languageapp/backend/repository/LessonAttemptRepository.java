@@ -0,0 +1,57 @@
+package com.languageapp.backend.repository;
+
+import com.languageapp.backend.entity.LessonAttempt;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface LessonAttemptRepository extends JpaRepository<LessonAttempt, UUID> {
+
+    Optional<LessonAttempt> findByAttemptIdAndUserUserIdAndLessonLessonId(UUID attemptId, UUID userId, UUID lessonId);
+
+    /**
+     * @return the latest attempt of the user at the lesson that was started after {@code startedAfter}
+     * and is not submitted yet
+     */
+    @Query("SELECT a FROM LessonAttempt a " +
+            "WHERE a.user.userId = :userId AND a.lesson.lessonId = :lessonId " +
+            "AND a.submittedAt IS NULL AND a.createdAt > :startedAfter " +
+            "ORDER BY a.createdAt DESC LIMIT 1")
+    Optional<LessonAttempt> findOpenAttempt(@Param("userId") UUID userId, @Param("lessonId") UUID lessonId,
+                                            @Param("startedAfter") LocalDateTime startedAfter);
+
+    /**
+     * Marks an attempt as submitted unless it already is. The condition is checked by the update itself,
+     * so of two concurrent submissions of the same attempt only one can claim it.
+     *
+     * @return 1 if the attempt was claimed, 0 if it was already submitted
+     */
+    @Modifying
+    @Query("UPDATE LessonAttempt a SET a.submittedAt = :submittedAt " +
+            "WHERE a.attemptId = :attemptId AND a.submittedAt IS NULL")
+    int markSubmitted(@Param("attemptId") UUID attemptId, @Param("submittedAt") LocalDateTime submittedAt);
+
+    /**
+     * Deletes up to {@code batchSize} attempts that were started before the cutoff and never submitted.
+     * Submitted attempts are kept: replayed submissions are rebuilt from them.
+     *
+     * @return the number of deleted attempts
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lesson_attempts"))
+    @Query(value = "DELETE FROM lesson_attempts WHERE attempt_id IN (" +
+            "SELECT attempt_id FROM lesson_attempts " +
+            "WHERE submitted_at IS NULL AND created_at < :cutoff " +
+            "LIMIT :batchSize)", nativeQuery = true)
+    int deleteUnsubmittedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,31 @@
+package com.languageapp.backend.repository;
+
+import com.languageapp.backend.entity.LessonRating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LessonRatingRepository extends JpaRepository<LessonRating, UUID> {
+
+    /**
+     * Writes back the in-memory rating of a lesson, inserting the row on first use.
+     * Lessons deleted in the meantime are skipped.
+     * Without the query space Hibernate cannot tell which table a native statement writes and would clear
+     * the whole second-level cache on every flush.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lesson_ratings"))
+    @Query(value = "INSERT INTO lesson_ratings (lesson_id, rating, attempts, updated_at) " +
+            "SELECT l.lesson_id, :rating, :attempts, now() FROM lessons l WHERE l.lesson_id = :lessonId " +
+            "ON CONFLICT (lesson_id) DO UPDATE " +
+            "SET rating = EXCLUDED.rating, attempts = EXCLUDED.attempts, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void upsert(@Param("lessonId") UUID lessonId, @Param("rating") double rating, @Param("attempts") int attempts);
+}
@@ -1,11 +1,23 @@
 package com.languageapp.backend.repository;
 
+import com.languageapp.backend.dto.projection.LessonCatalogRow;
+import com.languageapp.backend.dto.projection.LessonSubmissionContext;
 import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.LessonAttempt;
+import com.languageapp.backend.entity.Progress;
+import com.languageapp.backend.entity.User;
+import com.languageapp.backend.entity.UserDifficultyState;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -19,7 +31,53 @@ public interface LessonRepository extends JpaRepository<Lesson, UUID> {
             "GROUP BY l.lessonId, l.title, l.difficulty")
     List<com.languageapp.backend.dto.projection.LessonPerformanceDTO> getLessonPerformanceStats();
     /**
-     * Retrieves all lessons matching a specific difficulty level (e.g., "EASY", "MEDIUM").
+     * Keyset page of the lesson catalog ordered by (title, lesson ID), starting after the given position.
+     * Every filter is optional ({@code null} matches everything); the topic name is joined into the projection.
+     * Pages are kept in the query cache until the lessons or topics are written.
      */
-    List<Lesson> findByDifficulty(String difficulty);
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT l.lessonId AS lessonId, t.name AS topicName, l.title AS title, l.difficulty AS difficulty, " +
+            "l.language AS language, l.description AS description " +
+            "FROM Lesson l JOIN l.topic t " +
+            "WHERE (:difficulty IS NULL OR l.difficulty = :difficulty) " +
+            "AND (:topicId IS NULL OR t.topicId = :topicId) " +
+            "AND (:language IS NULL OR l.language = :language) " +
+            "AND (l.title, l.lessonId) > (:afterTitle, :afterId) " +
+            "ORDER BY l.title, l.lessonId")
+    List<LessonCatalogRow> findCatalogPage(@Param("difficulty") String difficulty, @Param("topicId") UUID topicId,
+                                           @Param("language") String language, @Param("afterTitle") String afterTitle,
+                                           @Param("afterId") UUID afterId, Limit limit);
+
+    /**
+     * Loads every lesson with its topic and exercises in a single query (source of the curriculum snapshot).
+     */
+    @Query("SELECT DISTINCT l FROM Lesson l JOIN FETCH l.topic LEFT JOIN FETCH l.exercises")
+    List<Lesson> findAllWithTopicAndExercises();
+
+    /**
+     * Loads the lesson, the user, the user's progress on the lesson, the user's difficulty state and the
+     * submitted attempt (only if it belongs to this user and lesson) in a single round trip.
+     * The exercises are not fetched: submissions are graded from the curriculum snapshot.
+     */
+    @Query("SELECT l, u, p, s, a FROM Lesson l " +
+            "JOIN User u ON u.userId = :userId " +
+            "LEFT JOIN Progress p ON p.user = u AND p.lesson = l " +
+            "LEFT JOIN UserDifficultyState s ON s.userId = u.userId " +
+            "LEFT JOIN LessonAttempt a ON a.attemptId = :attemptId AND a.user = u AND a.lesson = l " +
+            "WHERE l.lessonId = :lessonId")
+    List<Object[]> findSubmissionRows(@Param("userId") UUID userId, @Param("lessonId") UUID lessonId,
+                                      @Param("attemptId") UUID attemptId);
+
+    /**
+     * Fetch plan for the lesson submission, see {@link #findSubmissionRows(UUID, UUID, UUID)}.
+     *
+     * @param attemptId the submitted attempt of a sampled lesson, or {@code null}
+     * @return the submission read model, or empty if the user or the lesson does not exist
+     */
+    default Optional<LessonSubmissionContext> findSubmissionContext(UUID userId, UUID lessonId, UUID attemptId) {
+        return findSubmissionRows(userId, lessonId, attemptId).stream()
+                .findFirst()
+                .map(row -> new LessonSubmissionContext((User) row[1], (Lesson) row[0], (Progress) row[2],
+                        (UserDifficultyState) row[3], (LessonAttempt) row[4]));
+    }
+}
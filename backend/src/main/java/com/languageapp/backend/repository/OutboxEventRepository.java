@@ -0,0 +1,49 @@
+package com.languageapp.backend.repository;
+
+import com.languageapp.backend.entity.OutboxEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Locks a batch of due events. Rows locked by another worker instance are skipped, not waited for.
+     * PROCESSING rows whose lease has expired (crashed worker) are picked up again.
+     */
+    @Query(value = "SELECT * FROM outbox_events " +
+            "WHERE status IN ('PENDING', 'PROCESSING') AND available_at <= :now " +
+            "ORDER BY available_at " +
+            "LIMIT :batchSize " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    /**
+     * Deletes up to {@code batchSize} events that were processed before the cutoff.
+     *
+     * @return the number of deleted events
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_events"))
+    @Query(value = "DELETE FROM outbox_events WHERE event_id IN (" +
+            "SELECT event_id FROM outbox_events " +
+            "WHERE status = 'PROCESSED' AND processed_at < :cutoff " +
+            "LIMIT :batchSize)", nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    /** Up to {@code batchSize} events that failed permanently and were created before the cutoff. */
+    @Query(value = "SELECT * FROM outbox_events " +
+            "WHERE status = 'FAILED' AND created_at < :cutoff " +
+            "LIMIT :batchSize", nativeQuery = true)
+    List<OutboxEvent> findFailedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
@@ -12,4 +12,5 @@ import java.util.UUID;
 public interface ProgressRepository extends JpaRepository<Progress, UUID> {
     List<Progress> findByUserUserId(UUID userId);
     Optional<Progress> findByUserUserIdAndLessonLessonId(UUID userId, UUID lessonId);
+    Optional<Progress> findByUserEmailAndLessonLessonId(String email, UUID lessonId);
 }
\ No newline at end of file
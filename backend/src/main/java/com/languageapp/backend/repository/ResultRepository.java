@@ -1,11 +1,16 @@
 package com.languageapp.backend.repository;
 
+import com.languageapp.backend.dto.projection.ResultKeysetRow;
 import com.languageapp.backend.entity.Result;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -22,4 +27,24 @@ public interface ResultRepository extends JpaRepository<Result, UUID> {
      */
     @EntityGraph(attributePaths = {"lesson"})
     List<Result> findTop3ByUserUserIdOrderBySubmittedAtDesc(UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Finds the result written by an earlier submission with the same idempotency key, together with its lesson.
+     * The response is rebuilt from the curriculum snapshot, so the exercises are not loaded.
+     */
+    @EntityGraph(attributePaths = {"lesson"})
+    Optional<Result> findByUserUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    /**
+     * Keyset page of all results ordered by (user, submission time, id), starting after the given position.
+     * Used to stream the whole table in constant memory.
+     */
+    @Query(value = "SELECT r.user_id AS userId, r.result_id AS resultId, r.submitted_at AS submittedAt, " +
+            "r.score AS score, l.difficulty AS difficulty " +
+            "FROM results r JOIN lessons l ON l.lesson_id = r.lesson_id " +
+            "WHERE (r.user_id, r.submitted_at, r.result_id) > (:userId, :submittedAt, :resultId) " +
+            "ORDER BY r.user_id, r.submitted_at, r.result_id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ResultKeysetRow> findKeysetPage(@Param("userId") UUID userId, @Param("submittedAt") LocalDateTime submittedAt,
+                                         @Param("resultId") UUID resultId, @Param("limit") int limit);
+}
@@ -1,14 +1,35 @@
 package com.languageapp.backend.repository;
 
 import com.languageapp.backend.entity.UserAchievement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface UserAchievementRepository extends JpaRepository<UserAchievement, UUID> {
     List<UserAchievement> findByUserUserId(UUID userId);
-    boolean existsByUserUserIdAndAchievementAchievementId(UUID userId, UUID achievementId);
+    @Query("SELECT ua.achievement.achievementId FROM UserAchievement ua WHERE ua.user.userId = :userId")
+    Set<UUID> findAchievementIdsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Awards an achievement unless the user already has it. Two evaluations of the same user running in
+     * parallel can both see it as unearned; the unique constraint lets only one of them insert.
+     *
+     * @return 1 if the achievement was awarded, 0 if the user already had it
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_achievements"))
+    @Query(value = "INSERT INTO user_achievements (user_achievement_id, user_id, achievement_id, achieved_at) " +
+            "VALUES (gen_random_uuid(), :userId, :achievementId, now()) " +
+            "ON CONFLICT (user_id, achievement_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("achievementId") UUID achievementId);
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.languageapp.backend.repository;
+
+import com.languageapp.backend.dto.projection.RecentResultRow;
+import com.languageapp.backend.entity.UserDifficultyState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserDifficultyStateRepository extends JpaRepository<UserDifficultyState, UUID> {
+
+    /**
+     * Backfill source: the five most recent results (newest first) of a batch of users that have results
+     * but no difficulty state yet, together with their total number of results.
+     */
+    @Query(value = "SELECT r.user_id AS userId, r.score AS score, l.difficulty AS difficulty, r.attempts AS attempts " +
+            "FROM (SELECT res.user_id, res.lesson_id, res.score, res.submitted_at, " +
+            "             ROW_NUMBER() OVER (PARTITION BY res.user_id ORDER BY res.submitted_at DESC) AS rn, " +
+            "             COUNT(*) OVER (PARTITION BY res.user_id) AS attempts " +
+            "      FROM results res " +
+            "      WHERE res.user_id IN (SELECT DISTINCT m.user_id FROM results m " +
+            "                            WHERE NOT EXISTS (SELECT 1 FROM user_difficulty_states s WHERE s.user_id = m.user_id) " +
+            "                            ORDER BY m.user_id LIMIT :batchSize)) r " +
+            "JOIN lessons l ON l.lesson_id = r.lesson_id " +
+            "WHERE r.rn <= 5 " +
+            "ORDER BY r.user_id, r.rn", nativeQuery = true)
+    List<RecentResultRow> findRecentResultsOfUsersWithoutState(@Param("batchSize") int batchSize);
+}
@@ -1,9 +1,11 @@
 package com.languageapp.backend.repository;
 
+import com.languageapp.backend.dto.projection.UserAchievementStatsRow;
 import com.languageapp.backend.dto.projection.UserLeaderboardDTO;
 import com.languageapp.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,4 +22,25 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u.name AS name, u.xp AS xp, u.streak AS streak " +
             "FROM User u ORDER BY u.xp DESC")
     List<UserLeaderboardDTO> getGlobalLeaderboard();
+
+    /**
+     * The achievement statistics of one user: XP, streak and number of completed lessons in one query
+     * (an index lookup on the user's progress rows).
+     *
+     * @return the statistics, or empty if the user does not exist
+     */
+    @Query("SELECT u.xp AS xp, u.streak AS streak, " +
+            "(SELECT COUNT(p) FROM Progress p WHERE p.user = u AND p.isCompleted = true) AS completedLessons " +
+            "FROM User u WHERE u.userId = :userId")
+    Optional<UserAchievementStatsRow> findAchievementStats(@Param("userId") UUID userId);
+
+    /**
+     * Locks the row of a user until the end of the transaction, so concurrent submissions of the same user
+     * are evaluated one after another. {@code NO KEY UPDATE} still lets other transactions insert rows
+     * referencing the user.
+     *
+     * @return 1, or empty if the user does not exist
+     */
+    @Query(value = "SELECT 1 FROM users WHERE user_id = :userId FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Integer> lockForSubmission(@Param("userId") UUID userId);
 }
\ No newline at end of file
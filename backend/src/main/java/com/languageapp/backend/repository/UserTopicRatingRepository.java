@@ -0,0 +1,32 @@
+package com.languageapp.backend.repository;
+
+import com.languageapp.backend.entity.UserTopicRating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserTopicRatingRepository extends JpaRepository<UserTopicRating, UUID> {
+
+    /**
+     * Writes back the in-memory rating of a (user, topic) pair, inserting the row on first use.
+     * Pairs whose user or topic has been deleted in the meantime are skipped.
+     * The query space tells Hibernate which table the statement writes (see {@link LessonRatingRepository#upsert}).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_topic_ratings"))
+    @Query(value = "INSERT INTO user_topic_ratings (rating_id, user_id, topic_id, rating, attempts, updated_at) " +
+            "SELECT gen_random_uuid(), u.user_id, t.topic_id, :rating, :attempts, now() " +
+            "FROM users u JOIN lesson_topics t ON t.topic_id = :topicId WHERE u.user_id = :userId " +
+            "ON CONFLICT (user_id, topic_id) DO UPDATE " +
+            "SET rating = EXCLUDED.rating, attempts = EXCLUDED.attempts, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void upsert(@Param("userId") UUID userId, @Param("topicId") UUID topicId,
+                @Param("rating") double rating, @Param("attempts") int attempts);
+}
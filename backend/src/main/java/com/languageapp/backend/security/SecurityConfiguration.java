@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -58,6 +59,11 @@ public class SecurityConfiguration {
                 // Define authorization rules for HTTP requests
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll() // Public endpoints (login, register)
+                        // Exercise media, loaded by <img>/<audio> tags
+                        .requestMatchers(HttpMethod.GET, "/api/media/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/api/media/**").permitAll()
+                        // Curriculum import, media upload and batch jobs (authorities carry the plain role name)
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                         .anyRequest().authenticated() // All other endpoints require valid JWT
                 )
 
@@ -89,7 +95,11 @@ public class SecurityConfiguration {
         // Allowed origin patterns
         configuration.setAllowedOriginPatterns(List.of("http://localhost:3000", "http://localhost:5173"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key", "If-None-Match",
+                "Range", "If-Range"));
+        // Lets the frontend read the entity tag of conditional GETs, the position of partial media responses
+        // and the attempt of a sampled lesson
+        configuration.setExposedHeaders(List.of("ETag", "Content-Range", "X-Lesson-Attempt"));
 
         // Must be true for the frontend to receive/send HttpOnly cookies
         configuration.setAllowCredentials(true);
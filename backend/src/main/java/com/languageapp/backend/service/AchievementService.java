@@ -1,26 +1,40 @@
 package com.languageapp.backend.service;
 
+import com.languageapp.backend.dto.projection.UserAchievementStatsRow;
 import com.languageapp.backend.dto.response.AchievementResponse;
 import com.languageapp.backend.entity.Achievement;
-import com.languageapp.backend.entity.User;
 import com.languageapp.backend.entity.UserAchievement;
 import com.languageapp.backend.repository.AchievementRepository;
-import com.languageapp.backend.repository.ProgressRepository;
 import com.languageapp.backend.repository.UserAchievementRepository;
+import com.languageapp.backend.repository.UserRepository;
+import com.languageapp.backend.service.achievement.AchievementRuleCache;
+import com.languageapp.backend.service.achievement.AchievementRules;
+import com.languageapp.backend.service.achievement.AchievementRules.CompiledAchievement;
+import com.languageapp.backend.service.achievement.AchievementStats;
+import com.languageapp.backend.service.achievement.AchievementTrigger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Core business logic for the Gamification Engine.
  * Evaluates dynamic rules (JSONB criteria) to award trophies to users upon lesson completion.
+ * <p>
+ * The criteria are compiled once into {@link AchievementRules}, indexed by trigger. An evaluation reads the
+ * user's earned achievement IDs and an {@link AchievementStats} snapshot (two indexed queries); the triggered
+ * rules are then checked in memory against the snapshot, so the cost of a submission does not depend on the
+ * number of users or of their progress rows.
  */
 @Slf4j
 @Service
@@ -29,75 +43,49 @@ public class AchievementService {
 
     private final AchievementRepository achievementRepository;
     private final UserAchievementRepository userAchievementRepository;
-    private final ProgressRepository progressRepository;
+    private final UserRepository userRepository;
+    private final AchievementRuleCache achievementRuleCache;
 
     /**
-     * Iterates through all available achievements in the system and awards them
-     * to the user if they meet the dynamically defined criteria.
+     * Evaluates the achievements the submission may have unlocked and awards those whose criteria are met.
+     * Only rules indexed under one of the submission's triggers are looked at; if none of them is left
+     * to earn, the user's statistics are not even read.
      *
-     * @param user               The user who just completed a lesson.
-     * @param currentLessonScore The accuracy score (0-100) of the most recently completed lesson.
+     * @param userId             The user who just submitted a lesson.
+     * @param currentLessonScore The accuracy score (0-100) of the submission.
+     * @param triggers           What the submission changed.
+     * @param submittedAt        When the lesson was submitted.
      */
     @Transactional
-    public void checkAndAwardAchievements(User user, int currentLessonScore) {
-        List<Achievement> allAchievements = achievementRepository.findAll();
-
-        for (Achievement achievement : allAchievements) {
-            // OPTIMIZATION: Check via a highly efficient native query if the user already has this trophy
-            if (userAchievementRepository
-                    .existsByUserUserIdAndAchievementAchievementId(user.getUserId(), achievement.getAchievementId())) {
-                continue; // Skip evaluation if already awarded
-            }
-
-            // Evaluate the JSONB conditions
-            if (isEligible(user, achievement, currentLessonScore)) {
-                awardAchievement(user, achievement);
-            }
+    public void checkAndAwardAchievements(UUID userId, int currentLessonScore, Set<AchievementTrigger> triggers,
+                                          LocalDateTime submittedAt) {
+        if (triggers.isEmpty()) {
+            return;
         }
-    }
-
-    /**
-     * Parses and evaluates the JSONB 'criteria' column of an Achievement.
-     * Functions as a dynamic rule engine.
-     */
-    private boolean isEligible(User user, Achievement achievement, int currentLessonScore) {
-        Map<String, Object> criteria = achievement.getCriteria();
-        if (criteria == null || !criteria.containsKey("type")) {
-            return false;
+        Collection<CompiledAchievement> candidates = achievementRuleCache.current().triggeredBy(triggers);
+        if (candidates.isEmpty()) {
+            return;
         }
 
-        String type = String.valueOf(criteria.get("type"));
-
-        try {
-            // Helper variable: Count the total number of successfully completed lessons for this user
-            long completedCount = progressRepository.findAll().stream()
-                    .filter(p -> p.getUser().getUserId().equals(user.getUserId()) && p.getIsCompleted())
-                    .count();
-
-            // Evaluate based on the dynamic "type" defined in the database
-            switch (type) {
-                case "FIRST_LESSON":
-                    return completedCount >= 1;
-
-                case "LESSON_COUNT":
-                    int targetLessons = Integer.parseInt(String.valueOf(criteria.get("target")));
-                    return completedCount >= targetLessons;
-
-                case "XP_MILESTONE":
-                    int targetXp = Integer.parseInt(String.valueOf(criteria.get("target")));
-                    return user.getXp() >= targetXp;
+        Set<UUID> earned = userAchievementRepository.findAchievementIdsByUserId(userId);
+        List<CompiledAchievement> unearned = candidates.stream()
+                .filter(candidate -> !earned.contains(candidate.achievementId()))
+                .toList();
+        if (unearned.isEmpty()) {
+            return; // Nothing left to earn
+        }
 
-                case "PERFECT_SCORE":
-                    // Requires the user to achieve a flawless 100% on the current lesson
-                    return currentLessonScore == 100;
+        Optional<UserAchievementStatsRow> row = userRepository.findAchievementStats(userId);
+        if (row.isEmpty()) {
+            log.warn("Skipping achievements: user {} no longer exists.", userId);
+            return;
+        }
+        AchievementStats stats = AchievementStats.of(row.get(), currentLessonScore, submittedAt);
 
-                default:
-                    log.warn("Unknown achievement criteria type: {}", type);
-                    return false;
+        for (CompiledAchievement achievement : unearned) {
+            if (achievement.rule().test(stats)) {
+                awardAchievement(userId, achievement);
             }
-        } catch (Exception e) {
-            log.error("Error evaluating achievement criteria (ID: {}): {}", achievement.getAchievementId(), e.getMessage());
-            return false;
         }
     }
 
@@ -110,12 +98,14 @@ public class AchievementService {
         List<Achievement> allAchievements = achievementRepository.findAll();
         List<UserAchievement> userAchievements = userAchievementRepository.findByUserUserId(userId);
 
+        Map<UUID, UserAchievement> unlockedById = new HashMap<>();
+        for (UserAchievement userAchievement : userAchievements) {
+            unlockedById.put(userAchievement.getAchievement().getAchievementId(), userAchievement);
+        }
+
         return allAchievements.stream().map(ach -> {
             // Check if the current achievement exists in the user's earned list
-            UserAchievement unlockedAch = userAchievements.stream()
-                    .filter(ua -> ua.getAchievement().getAchievementId().equals(ach.getAchievementId()))
-                    .findFirst()
-                    .orElse(null);
+            UserAchievement unlockedAch = unlockedById.get(ach.getAchievementId());
 
             return AchievementResponse.builder()
                     .achievementId(ach.getAchievementId())
@@ -130,14 +120,14 @@ public class AchievementService {
 
     /**
      * Persists a newly earned achievement to the database and logs the event.
+     * Skipped if a concurrent evaluation of the same user awarded it first.
      */
-    private void awardAchievement(User user, Achievement achievement) {
-        UserAchievement newAward = new UserAchievement();
-        newAward.setUser(user);
-        newAward.setAchievement(achievement);
-        newAward.setAchievedAt(LocalDateTime.now());
-
-        userAchievementRepository.save(newAward);
-        log.info("🏆 Gamification: New achievement unlocked for user: {}, Achievement: {}", user.getEmail(), achievement.getName());
+    private void awardAchievement(UUID userId, CompiledAchievement achievement) {
+        if (userAchievementRepository.insertIfAbsent(userId, achievement.achievementId()) == 0) {
+            log.debug("Achievement {} was already awarded to user {} by a concurrent evaluation.",
+                    achievement.name(), userId);
+            return;
+        }
+        log.info("🏆 Gamification: New achievement unlocked for user: {}, Achievement: {}", userId, achievement.name());
     }
 }
\ No newline at end of file
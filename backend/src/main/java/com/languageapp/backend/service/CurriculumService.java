@@ -6,13 +6,24 @@ import com.languageapp.backend.dto.request.TopicImportRequest;
 import com.languageapp.backend.entity.Exercise;
 import com.languageapp.backend.entity.Lesson;
 import com.languageapp.backend.entity.LessonTopic;
+import com.languageapp.backend.entity.content.AnswerKey;
+import com.languageapp.backend.entity.content.ExerciseContent;
+import com.languageapp.backend.event.CurriculumImportedEvent;
+import com.languageapp.backend.exception.BadRequestException;
 import com.languageapp.backend.repository.ExerciseRepository;
 import com.languageapp.backend.repository.LessonRepository;
 import com.languageapp.backend.repository.LessonTopicRepository;
+import com.languageapp.backend.service.evaluation.AcceptedAnswers;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Service responsible for managing curriculum data (Topics, Lessons, Exercises).
@@ -25,10 +36,13 @@ public class CurriculumService {
     private final LessonTopicRepository topicRepository;
     private final LessonRepository lessonRepository;
     private final ExerciseRepository exerciseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
 
     /**
      * Imports a full curriculum structure (Topic -> Lessons -> Exercises) from a JSON request.
      * Transactional ensures that if any part fails, the entire import is rolled back to prevent orphaned data.
+     * Publishes a {@link CurriculumImportedEvent} so in-memory curriculum caches are refreshed after commit.
      * * @param request The nested DTO containing the curriculum data.
      */
     @Transactional
@@ -52,6 +66,10 @@ public class CurriculumService {
                 lesson.setDifficulty(lessonReq.getDifficulty());
                 lesson.setDescription(lessonReq.getDescription());
                 lesson.setLanguage(lessonReq.getLanguage());
+                if (lessonReq.getSampleSize() != null && lessonReq.getSampleSize() < 1) {
+                    throw new BadRequestException("Lesson sample size must be positive");
+                }
+                lesson.setSampleSize(lessonReq.getSampleSize());
 
                 Lesson savedLesson = lessonRepository.save(lesson);
                 log.info("  Saved Lesson: {} ({})", savedLesson.getTitle(), savedLesson.getDifficulty());
@@ -63,12 +81,19 @@ public class CurriculumService {
                         exercise.setLesson(savedLesson); // Assign to lesson
                         exercise.setType(exerciseReq.getType());
 
-                        exercise.setContent(exerciseReq.getContent());
-                        exercise.setCorrectAnswer(exerciseReq.getCorrectAnswer());
+                        exercise.setContent(toContent(exerciseReq.getType(), exerciseReq.getContent()));
+
+                        // Reject malformed alternatives or patterns now instead of on the first answer check
+                        AnswerKey answerKey = convert(exerciseReq.getCorrectAnswer(), AnswerKey.class);
+                        AcceptedAnswers.validate(answerKey);
+                        exercise.setCorrectAnswer(answerKey);
 
                         if (exerciseReq.getImageUrl() != null) {
                             exercise.setImageUrl(exerciseReq.getImageUrl());
                         }
+                        if (exerciseReq.getAudioUrl() != null) {
+                            exercise.setAudioUrl(exerciseReq.getAudioUrl());
+                        }
 
                         exerciseRepository.save(exercise);
                     }
@@ -77,6 +102,32 @@ public class CurriculumService {
             }
         }
 
+        eventPublisher.publishEvent(new CurriculumImportedEvent(savedTopic.getTopicId()));
         log.info("Curriculum import completed successfully.");
     }
+
+    /**
+     * Reads the content map of an imported exercise as the content record of its type.
+     */
+    private ExerciseContent toContent(String type, Map<String, Object> content) {
+        if (content == null) {
+            return null;
+        }
+        Map<String, Object> typed = new LinkedHashMap<>(content);
+        if (type != null) {
+            typed.put(ExerciseContent.KIND, type);
+        }
+        return convert(typed, ExerciseContent.class);
+    }
+
+    private <T> T convert(Map<String, Object> value, Class<T> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.convertValue(value, type);
+        } catch (JacksonException e) {
+            throw new BadRequestException("Malformed exercise " + type.getSimpleName() + ": " + e.getOriginalMessage());
+        }
+    }
 }
\ No newline at end of file
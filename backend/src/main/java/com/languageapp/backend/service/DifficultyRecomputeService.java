@@ -0,0 +1,297 @@
+package com.languageapp.backend.service;
+
+import com.languageapp.backend.dto.projection.ResultKeysetRow;
+import com.languageapp.backend.dto.response.DifficultyRecomputeStatusResponse;
+import com.languageapp.backend.entity.UserDifficultyState;
+import com.languageapp.backend.exception.BadRequestException;
+import com.languageapp.backend.repository.ResultRepository;
+import com.languageapp.backend.repository.UserDifficultyStateRepository;
+import com.languageapp.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Admin-triggered recomputation of the difficulty state of every user from the full result history,
+ * e.g. after the difficulty thresholds changed.
+ * <p>
+ * The {@code results} table is streamed in keyset-paginated chunks ordered by (user, submission time),
+ * so memory stays bounded by the chunk size no matter how many rows exist. A user's results may span
+ * several chunks; the user is only completed once a row of the next user (or the end of the table) is seen.
+ * The target difficulties of the users completed in a chunk are computed on a fork-join pool and written
+ * back in one transaction per chunk. Only one job runs at a time; its progress is kept in memory.
+ */
+@Slf4j
+@Service
+public class DifficultyRecomputeService {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final LocalDateTime FIRST_SUBMITTED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int MAX_CHUNK_WRITE_ATTEMPTS = 3;
+
+    private final ResultRepository resultRepository;
+    private final UserDifficultyStateRepository userDifficultyStateRepository;
+    private final UserRepository userRepository;
+    private final UserDifficultyCalculator userDifficultyCalculator;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor batchJobExecutor;
+
+    private final AtomicReference<Job> currentJob = new AtomicReference<>();
+
+    @Value("${app.difficulty.recompute.chunk-size:5000}")
+    private int chunkSize;
+
+    /** Threads of the fork-join pool computing the target difficulties, 0 = number of available processors. */
+    @Value("${app.difficulty.recompute.parallelism:0}")
+    private int parallelism;
+
+    public DifficultyRecomputeService(ResultRepository resultRepository,
+                                      UserDifficultyStateRepository userDifficultyStateRepository,
+                                      UserRepository userRepository,
+                                      UserDifficultyCalculator userDifficultyCalculator,
+                                      PlatformTransactionManager transactionManager,
+                                      @Qualifier("batchJobExecutor") TaskExecutor batchJobExecutor) {
+        this.resultRepository = resultRepository;
+        this.userDifficultyStateRepository = userDifficultyStateRepository;
+        this.userRepository = userRepository;
+        this.userDifficultyCalculator = userDifficultyCalculator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchJobExecutor = batchJobExecutor;
+    }
+
+    /**
+     * Starts a recomputation in the background.
+     *
+     * @return the status of the started job
+     * @throws BadRequestException if a recomputation is already running
+     */
+    public DifficultyRecomputeStatusResponse start() {
+        Job previous = currentJob.get();
+        if (previous != null && previous.status == JobStatus.RUNNING) {
+            throw new BadRequestException("A difficulty recomputation is already running");
+        }
+
+        Job job = new Job();
+        if (!currentJob.compareAndSet(previous, job)) {
+            throw new BadRequestException("A difficulty recomputation is already running");
+        }
+
+        batchJobExecutor.execute(() -> run(job));
+        return job.toResponse();
+    }
+
+    /**
+     * @return the progress of the running job, or of the last finished one ({@code IDLE} if none ran yet)
+     */
+    public DifficultyRecomputeStatusResponse getStatus() {
+        Job job = currentJob.get();
+        return job != null
+                ? job.toResponse()
+                : DifficultyRecomputeStatusResponse.builder().status(JobStatus.IDLE.name()).build();
+    }
+
+    private void run(Job job) {
+        log.info("Difficulty recomputation {} started (chunk size {}).", job.id, chunkSize);
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : new ForkJoinPool();
+        try {
+            UUID userId = FIRST_ID;
+            LocalDateTime submittedAt = FIRST_SUBMITTED_AT;
+            UUID resultId = FIRST_ID;
+            UserHistory pending = null;
+
+            while (true) {
+                List<ResultKeysetRow> page = resultRepository.findKeysetPage(userId, submittedAt, resultId, chunkSize);
+                boolean lastPage = page.size() < chunkSize;
+
+                List<UserHistory> completed = new ArrayList<>();
+                for (ResultKeysetRow row : page) {
+                    if (pending == null || !pending.userId.equals(row.getUserId())) {
+                        if (pending != null) {
+                            completed.add(pending);
+                        }
+                        pending = new UserHistory(row.getUserId());
+                    }
+                    pending.add(row.getScore() != null ? row.getScore() : 0, row.getDifficulty());
+                }
+                if (lastPage && pending != null) {
+                    completed.add(pending);
+                    pending = null;
+                }
+
+                if (!completed.isEmpty()) {
+                    Map<UUID, String> targets = pool.submit(() -> completed.parallelStream()
+                            .collect(Collectors.toMap(history -> history.userId, this::targetDifficulty))).get();
+                    job.usersMoved.addAndGet(writeChunk(job, completed, targets));
+                    job.usersProcessed.addAndGet(completed.size());
+                }
+                job.resultsProcessed.addAndGet(page.size());
+
+                if (lastPage) {
+                    break;
+                }
+                ResultKeysetRow last = page.getLast();
+                userId = last.getUserId();
+                submittedAt = last.getSubmittedAt();
+                resultId = last.getResultId();
+            }
+
+            job.finish(JobStatus.COMPLETED, null);
+            log.info("Difficulty recomputation {} completed: {} results, {} users, {} moved.",
+                    job.id, job.resultsProcessed.get(), job.usersProcessed.get(), job.usersMoved.get());
+        } catch (Exception e) {
+            job.finish(JobStatus.FAILED, e.getMessage());
+            log.error("Difficulty recomputation {} failed: {}", job.id, e.getMessage(), e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private String targetDifficulty(UserHistory history) {
+        return userDifficultyCalculator.calculateTargetDifficulty(
+                history.recentScores(), history.lastDifficulty, history.attemptCount);
+    }
+
+    /**
+     * Writes the recomputed states of one chunk of users. A submission saved concurrently makes the
+     * transaction fail on the state version (or on the primary key of a new state); the chunk is then
+     * retried and that user skipped, as the live update already used the newest result.
+     *
+     * @return the number of users whose target difficulty changed
+     */
+    private int writeChunk(Job job, List<UserHistory> histories, Map<UUID, String> targets) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer moved = transactionTemplate.execute(status -> {
+                    Map<UUID, UserDifficultyState> states = new HashMap<>();
+                    for (UserDifficultyState state : userDifficultyStateRepository.findAllById(targets.keySet())) {
+                        states.put(state.getUserId(), state);
+                    }
+
+                    int changed = 0;
+                    List<UserDifficultyState> created = new ArrayList<>();
+                    for (UserHistory history : histories) {
+                        UserDifficultyState state = states.get(history.userId);
+                        if (state == null) {
+                            state = new UserDifficultyState();
+                            state.setUser(userRepository.getReferenceById(history.userId));
+                            created.add(state);
+                        } else if (state.getUpdatedAt() != null && state.getUpdatedAt().isAfter(job.startedAt)) {
+                            continue;
+                        }
+
+                        String target = targets.get(history.userId);
+                        if (!target.equals(state.getTargetDifficulty())) {
+                            changed++;
+                        }
+                        state.setRecentScores(history.recentScores());
+                        state.setLastDifficulty(history.lastDifficulty);
+                        state.setAttemptCount(history.attemptCount);
+                        state.setTargetDifficulty(target);
+                    }
+
+                    // Existing states are managed and written by dirty checking
+                    userDifficultyStateRepository.saveAll(created);
+                    return changed;
+                });
+                return moved != null ? moved : 0;
+            } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt == MAX_CHUNK_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Chunk write conflicted with a live submission, retrying: {}", e.getMessage());
+            }
+        }
+    }
+
+    private enum JobStatus { IDLE, RUNNING, COMPLETED, FAILED }
+
+    /**
+     * The results of one user seen so far, reduced to the inputs of the difficulty calculation.
+     */
+    private static final class UserHistory {
+
+        private final UUID userId;
+        // Ring buffer of the most recent scores; next is the slot of the next score
+        private final int[] ring = new int[UserDifficultyCalculator.RECENT_RESULTS_WINDOW];
+        private int next;
+        private int attemptCount;
+        private String lastDifficulty;
+
+        UserHistory(UUID userId) {
+            this.userId = userId;
+        }
+
+        void add(int score, String difficulty) {
+            ring[next] = score;
+            next = (next + 1) % ring.length;
+            attemptCount++;
+            lastDifficulty = difficulty;
+        }
+
+        /** @return the most recent scores, newest first */
+        int[] recentScores() {
+            int[] recent = new int[Math.min(attemptCount, ring.length)];
+            for (int i = 0; i < recent.length; i++) {
+                recent[i] = ring[Math.floorMod(next - 1 - i, ring.length)];
+            }
+            return recent;
+        }
+    }
+
+    private static final class Job {
+
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong resultsProcessed = new AtomicLong();
+        private final AtomicLong usersProcessed = new AtomicLong();
+        private final AtomicLong usersMoved = new AtomicLong();
+
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishNanos;
+        private volatile String error;
+
+        void finish(JobStatus finalStatus, String failure) {
+            finishNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            error = failure;
+            status = finalStatus;
+        }
+
+        DifficultyRecomputeStatusResponse toResponse() {
+            JobStatus currentStatus = status;
+            long elapsedNanos = (currentStatus == JobStatus.RUNNING ? System.nanoTime() : finishNanos) - startNanos;
+            long results = resultsProcessed.get();
+
+            return DifficultyRecomputeStatusResponse.builder()
+                    .jobId(id)
+                    .status(currentStatus.name())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .resultsProcessed(results)
+                    .usersProcessed(usersProcessed.get())
+                    .usersMoved(usersMoved.get())
+                    .resultsPerSecond(elapsedNanos > 0 ? results * 1_000_000_000.0 / elapsedNanos : 0)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.languageapp.backend.service;
 
+import com.languageapp.backend.dto.request.BatchExerciseCheckRequest;
 import com.languageapp.backend.dto.request.ExerciseSubmission;
+import com.languageapp.backend.dto.projection.LessonSubmissionContext;
 import com.languageapp.backend.dto.request.LessonSubmitRequest;
 import com.languageapp.backend.dto.response.ExerciseCheckResponse;
 import com.languageapp.backend.dto.response.LessonSubmitResponse;
 import com.languageapp.backend.dto.response.MistakeDTO;
 import com.languageapp.backend.entity.*;
+import com.languageapp.backend.event.LessonEvaluatedEvent;
+import com.languageapp.backend.exception.BadRequestException;
 import com.languageapp.backend.exception.ForbiddenException;
 import com.languageapp.backend.exception.ResourceNotFoundException;
 import com.languageapp.backend.repository.*;
+import com.languageapp.backend.service.curriculum.CurriculumSnapshot;
+import com.languageapp.backend.service.curriculum.CurriculumSnapshotService;
+import com.languageapp.backend.service.evaluation.AnswerVerdict;
+import com.languageapp.backend.service.evaluation.CompiledExercise;
+import com.languageapp.backend.service.evaluation.TextNormalizer;
+import com.languageapp.backend.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,22 +40,33 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EvaluationService {
 
+    /** Rejection of an idempotency key sent again for another lesson. */
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency key was already used for another lesson";
+
     private static final int PASSING_SCORE_THRESHOLD = 60;
     private static final int XP_PER_CORRECT_ANSWER = 10;
 
-    private final UserRepository userRepository;
     private final LessonRepository lessonRepository;
     private final ResultRepository resultRepository;
     private final ProgressRepository progressRepository;
+    private final UserRepository userRepository;
     private final UserDifficultyCalculator userDifficultyCalculator;
-    private final ExerciseRepository exerciseRepository;
     private final AchievementRepository achievementRepository;
-    private final AchievementService achievementService;
+    private final OutboxService outboxService;
+    private final CurriculumSnapshotService curriculumSnapshotService;
+    private final LessonAttemptRepository lessonAttemptRepository;
+    private final TextNormalizer textNormalizer;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
      * Orchestrates the entire submission process for a completed lesson.
      * Validates security, calculates scores and XP, updates user progress, and saves the final result.
+     * Submissions of the same user are serialized by a row lock on the user. All reads (including the
+     * adaptive difficulty state) then go through one fetch-join query;
+     * all writes are deferred to the commit flush and sent as JDBC batches.
+     * The exercises are graded from the curriculum snapshot and never enter the persistence context,
+     * so the flush cost does not grow with the size of the lesson.
      *
      * @param userId   The ID of the user submitting the lesson.
      * @param lessonId The ID of the lesson being submitted.
@@ -53,22 +75,45 @@ public class EvaluationService {
      */
     @Transactional
     public LessonSubmitResponse evaluateLesson(UUID userId, UUID lessonId, LessonSubmitRequest request) {
+        return evaluateLesson(userId, lessonId, request, null);
+    }
+
+    /**
+     * Idempotent variant of {@link #evaluateLesson(UUID, UUID, LessonSubmitRequest)}. If the user already
+     * submitted with the same key, the stored result is returned instead of evaluating the lesson again.
+     * Concurrent duplicates are rejected by the unique (user, idempotency key) constraint on commit.
+     *
+     * @param idempotencyKey the client supplied key of the submission, or {@code null}
+     */
+    @Transactional
+    public LessonSubmitResponse evaluateLesson(UUID userId, UUID lessonId, LessonSubmitRequest request, String idempotencyKey) {
         log.debug("Starting evaluation for user: {} and lesson: {}", userId, lessonId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // Submissions of the same user queue here: each one reads the progress, XP and difficulty state
+        // (and the stored result of a duplicate key) committed by the previous one
+        userRepository.lockForSubmission(userId);
 
-        Lesson lesson = lessonRepository.findById(lessonId)
+        if (idempotencyKey != null) {
+            Optional<Result> previous = resultRepository.findByUserUserIdAndIdempotencyKey(userId, idempotencyKey);
+            if (previous.isPresent()) {
+                log.info("Duplicate submission of lesson {} by user {}, returning the stored result.", lessonId, userId);
+                return rebuildResponse(previous.get(), lessonId, request);
+            }
+        }
+
+        // OPTIMIZATION: User, lesson (with exercises) and existing progress are loaded by a single query.
+        LessonSubmissionContext context = lessonRepository.findSubmissionContext(userId, lessonId, request.getAttemptId())
                 .orElseThrow(() -> new ResourceNotFoundException("Lesson not found"));
 
-        // OPTIMIZATION: Fetch the user's progress exactly once to minimize database overhead.
-        var existingProgressOpt = progressRepository.findByUserUserIdAndLessonLessonId(userId, lessonId);
+        User user = context.user();
+        Lesson lesson = context.lesson();
+        var existingProgressOpt = Optional.ofNullable(context.progress());
         boolean hasStarted = existingProgressOpt.isPresent();
 
         // SECURITY: Ensure the user is not trying to hack the adaptive difficulty system
-        validateUserDifficultyAccess(user, lesson, hasStarted);
+        validateUserDifficultyAccess(user, context.difficultyState(), lesson, hasStarted);
 
-        List<Exercise> exercises = lesson.getExercises();
+        List<CompiledExercise> exercises = gradedExercises(lesson, context.attempt(), request.getAttemptId());
         int totalQuestions = exercises.size();
 
         List<MistakeDTO> mistakes = new ArrayList<>();
@@ -97,20 +142,32 @@ public class EvaluationService {
         if (passed && !progress.getIsCompleted()) {
             xpEarned = potentialXp; // Assign the dynamically calculated XP
 
+            // The user is managed: the XP update is written by dirty checking in the same flush as the result and progress
             user.setXp(user.getXp() + xpEarned);
-            userRepository.save(user);
             log.info("User {} earned {} XP. Total XP: {}", user.getEmail(), xpEarned, user.getXp());
         } else if (passed && progress.getIsCompleted()) {
             log.debug("User {} already completed this lesson. No new XP awarded.", user.getEmail());
         }
 
         // Save historical result and update ongoing progress
-        Result savedResult = saveResult(user, lesson, request, correctAnswersCount, totalQuestions, score);
+        Result savedResult = saveResult(user, lesson, request, correctAnswersCount, totalQuestions, score, xpEarned, idempotencyKey);
         updateProgress(progress, score, passed);
+        userDifficultyCalculator.recordResult(user, context.difficultyState(), score, lesson.getDifficulty());
 
-        String feedback = passed ? "Congratulations! You passed the lesson." : "Keep practicing! You can do better.";
 
-        achievementService.checkAndAwardAchievements(user, score);
+        // Achievements (and other derived state) are processed asynchronously by the outbox worker,
+        // the event commits or rolls back together with the result
+        outboxService.publish(OutboxService.LESSON_SUBMITTED, Map.of(
+                "userId", user.getUserId().toString(),
+                "lessonId", lesson.getLessonId().toString(),
+                "resultId", savedResult.getResultId().toString(),
+                "score", score,
+                "passed", passed,
+                "xpEarned", xpEarned));
+
+        // In-memory learner models (topic skill ratings) are updated once the submission has committed
+        eventPublisher.publishEvent(new LessonEvaluatedEvent(
+                user.getUserId(), lesson.getTopic().getTopicId(), lesson.getLessonId(), lesson.getDifficulty(), score));
 
         return LessonSubmitResponse.builder()
                 .resultId(savedResult.getResultId())
@@ -119,14 +176,63 @@ public class EvaluationService {
                 .totalQuestionsCount(totalQuestions)
                 .xpEarned(xpEarned)
                 .passed(passed)
-                .feedback(feedback)
+                .feedback(feedbackFor(passed))
                 .mistakes(mistakes)
                 .build();
     }
 
-    private void validateUserDifficultyAccess(User user, Lesson lesson, boolean hasStarted) {
+    /**
+     * Looks up the response of an already committed submission. Used after a concurrent duplicate
+     * lost the race on the unique idempotency key constraint.
+     *
+     * @return the stored response, or empty if no submission with this key exists
+     */
+    @Transactional(readOnly = true)
+    public Optional<LessonSubmitResponse> findSubmittedResponse(UUID userId, UUID lessonId, LessonSubmitRequest request,
+                                                                String idempotencyKey) {
+        return resultRepository.findByUserUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .map(result -> rebuildResponse(result, lessonId, request));
+    }
+
+    /**
+     * Rebuilds the response of a stored result. Score, counts and XP come from the result; the mistake
+     * summary is recomputed from the (identical) retried answers, which has no side effects.
+     * Like the first submission, it only grades against an attempt of the same user and lesson.
+     */
+    private LessonSubmitResponse rebuildResponse(Result result, UUID lessonId, LessonSubmitRequest request) {
+        if (!result.getLesson().getLessonId().equals(lessonId)) {
+            throw new BadRequestException(IDEMPOTENCY_KEY_REUSED);
+        }
+
+        List<MistakeDTO> mistakes = new ArrayList<>();
+        List<CompiledExercise> exercises = request.getAttemptId() == null
+                ? curriculumSnapshotService.compiledExercises(result.getLesson())
+                : lessonAttemptRepository.findByAttemptIdAndUserUserIdAndLessonLessonId(
+                                request.getAttemptId(), result.getUser().getUserId(), lessonId)
+                        .map(attempt -> curriculumSnapshotService.compiledExercises(attempt.getServedExerciseIds()))
+                        .orElseGet(List::of);
+        calculateEvaluationDetails(exercises, request, mistakes);
+        boolean passed = result.getScore() >= PASSING_SCORE_THRESHOLD;
+
+        return LessonSubmitResponse.builder()
+                .resultId(result.getResultId())
+                .score(result.getScore())
+                .correctAnswersCount(result.getCorrectAnswersCount())
+                .totalQuestionsCount(result.getTotalQuestionsCount())
+                .xpEarned(result.getXpEarned() != null ? result.getXpEarned() : 0)
+                .passed(passed)
+                .feedback(feedbackFor(passed))
+                .mistakes(mistakes)
+                .build();
+    }
+
+    private static String feedbackFor(boolean passed) {
+        return passed ? "Congratulations! You passed the lesson." : "Keep practicing! You can do better.";
+    }
+
+    private void validateUserDifficultyAccess(User user, UserDifficultyState difficultyState, Lesson lesson, boolean hasStarted) {
         if ("STUDENT".equals(user.getRole())) {
-            String allowedDifficulty = userDifficultyCalculator.determineTargetDifficulty(user);
+            String allowedDifficulty = userDifficultyCalculator.determineTargetDifficulty(user, difficultyState);
             if (!lesson.getDifficulty().equals(allowedDifficulty) && !hasStarted) {
                 log.warn("SECURITY ALERT: User {} attempted to SUBMIT restricted difficulty! Requested: {}, Allowed: {}",
                         user.getEmail(), lesson.getDifficulty(), allowedDifficulty);
@@ -135,6 +241,30 @@ public class EvaluationService {
         }
     }
 
+    /**
+     * The exercises a submission is graded against: every exercise of the lesson, or for a sampled lesson
+     * exactly the exercises served in the submitted attempt, which is then closed.
+     *
+     * @param attempt   the submitted attempt as loaded with the submission, or {@code null}
+     * @param attemptId the attempt ID of the request, or {@code null}
+     */
+    private List<CompiledExercise> gradedExercises(Lesson lesson, LessonAttempt attempt, UUID attemptId) {
+        if (attemptId == null) {
+            if (lesson.getSampleSize() != null) {
+                throw new BadRequestException("This lesson is served in attempts: submit the attemptId of the served exercises");
+            }
+            return curriculumSnapshotService.compiledExercises(lesson);
+        }
+        if (attempt == null) {
+            throw new BadRequestException("Unknown lesson attempt");
+        }
+        if (attempt.getSubmittedAt() != null
+                || lessonAttemptRepository.markSubmitted(attempt.getAttemptId(), LocalDateTime.now()) == 0) {
+            throw new BadRequestException("This lesson attempt was already submitted");
+        }
+        return curriculumSnapshotService.compiledExercises(attempt.getServedExerciseIds());
+    }
+
     // --- CORE EVALUATION LOGIC ---
 
     /**
@@ -142,12 +272,12 @@ public class EvaluationService {
      * Applies business rules for XP distribution: Full XP for first-try correct answers,
      * and half XP for successfully retried answers.
      *
-     * @param exercises The list of exercises in the lesson.
+     * @param exercises The compiled exercises of the lesson.
      * @param request   The user's submission payload.
      * @param mistakes  A list to be populated with the user's initial mistakes for the summary screen.
      * @return EvaluationDetails containing the correct answer count and the dynamically calculated XP.
      */
-    private EvaluationDetails calculateEvaluationDetails(List<Exercise> exercises, LessonSubmitRequest request, List<MistakeDTO> mistakes) {
+    private EvaluationDetails calculateEvaluationDetails(List<CompiledExercise> exercises, LessonSubmitRequest request, List<MistakeDTO> mistakes) {
         int correctCount = 0;
         int potentialXp = 0;
 
@@ -155,20 +285,17 @@ public class EvaluationService {
         Map<UUID, List<ExerciseSubmission>> subsByExercise = request.getAnswers().stream()
                 .collect(Collectors.groupingBy(ExerciseSubmission::getExerciseId));
 
-        for (Exercise exercise : exercises) {
+        for (CompiledExercise compiled : exercises) {
             // Only evaluate if the backend has a definitive correct answer for this exercise
-            if (exercise.getCorrectAnswer() != null && exercise.getCorrectAnswer().containsKey("answer")) {
-                String rawExpected = String.valueOf(exercise.getCorrectAnswer().get("answer"));
-                String cleanExpected = normalizeText(rawExpected);
-
-                List<ExerciseSubmission> subs = subsByExercise.getOrDefault(exercise.getExerciseId(), new ArrayList<>());
+            if (compiled.hasAnswerKey()) {
+                List<ExerciseSubmission> subs = subsByExercise.getOrDefault(compiled.getExerciseId(), new ArrayList<>());
 
                 // Separate the first attempt from a potential retry attempt based on the frontend flag
                 ExerciseSubmission firstAttempt = subs.stream().filter(s -> !s.isRetry()).findFirst().orElse(null);
                 ExerciseSubmission retryAttempt = subs.stream().filter(ExerciseSubmission::isRetry).findFirst().orElse(null);
 
                 String firstAnswer = (firstAttempt != null && firstAttempt.getAnswer() != null) ? firstAttempt.getAnswer().toString() : "";
-                boolean firstCorrect = cleanExpected.equals(normalizeText(firstAnswer));
+                boolean firstCorrect = judge(compiled, firstAnswer).isCorrect();
 
                 if (firstCorrect) {
                     // CASE 1: Flawless execution. Award a point and full XP.
@@ -176,15 +303,12 @@ public class EvaluationService {
                     potentialXp += XP_PER_CORRECT_ANSWER; // +10 XP
                 } else {
                     // Log the mistake for the frontend Summary Screen using the initial wrong answer
-                    String questionText = exercise.getContent() != null && exercise.getContent().containsKey("question")
-                            ? String.valueOf(exercise.getContent().get("question"))
-                            : "Unknown question";
-                    mistakes.add(new MistakeDTO(questionText, firstAnswer, rawExpected));
+                    mistakes.add(new MistakeDTO(compiled.getQuestion(), firstAnswer, compiled.getRawExpected()));
 
                     // CASE 2: The user failed initially, but we check if they fixed it via the retry queue
                     if (retryAttempt != null) {
                         String retryAnswer = retryAttempt.getAnswer() != null ? retryAttempt.getAnswer().toString() : "";
-                        boolean retryCorrect = cleanExpected.equals(normalizeText(retryAnswer));
+                        boolean retryCorrect = judge(compiled, retryAnswer).isCorrect();
 
                         if (retryCorrect) {
                             // The user learned from the mistake. Count it towards passing the lesson.
@@ -211,7 +335,7 @@ public class EvaluationService {
     }
 
     private Result saveResult(User user, Lesson lesson, LessonSubmitRequest request,
-                              int correctCount, int totalCount, int score) {
+                              int correctCount, int totalCount, int score, int xpEarned, String idempotencyKey) {
         Result result = new Result();
         result.setUser(user);
         result.setLesson(lesson);
@@ -222,6 +346,8 @@ public class EvaluationService {
         result.setTotalQuestionsCount(totalCount);
         result.setIsTestResult(false);
         result.setIsChallengeResult(false);
+        result.setXpEarned(xpEarned);
+        result.setIdempotencyKey(idempotencyKey);
 
         return resultRepository.save(result);
     }
@@ -242,95 +368,57 @@ public class EvaluationService {
     }
 
     /**
-     * Normalizes a string for comparison by removing all punctuation,
-     * converting to lowercase, and collapsing multiple spaces into a single space.
+     * Immediate feedback for a single answer. Works on the compiled exercise of the curriculum snapshot,
+     * so checks are served from memory without a database round trip.
+     *
+     * @param exerciseId the ID of the checked exercise
+     * @param userAnswer the raw answer typed or selected by the user
+     * @return ExerciseCheckResponse with the verdict and a feedback message
      */
-    private String normalizeText(String input) {
-        if (input == null || input.isBlank() || "null".equals(input)) {
-            return "";
-        }
-        return input
-                .replaceAll("\\p{Punct}", "")
-                .toLowerCase()
-                .replaceAll("\\s+", " ")
-                .trim();
-    }
-
-    @Transactional(readOnly = true)
     public ExerciseCheckResponse checkSingleExercise(UUID exerciseId, String userAnswer) {
-        Exercise exercise = exerciseRepository.findById(exerciseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Exercise not found"));
+        return buildCheckResponse(compiledExercise(curriculumSnapshotService.current(), exerciseId), userAnswer);
+    }
 
-        if (exercise.getCorrectAnswer() == null || !exercise.getCorrectAnswer().containsKey("answer")) {
-            return ExerciseCheckResponse.builder().isCorrect(true).build();
-        }
+    /**
+     * Batch variant of {@link #checkSingleExercise(UUID, String)}: checks many answers in one round trip.
+     * All answers are checked against the same curriculum snapshot.
+     *
+     * @param checks the (exerciseId, answer) pairs to check
+     * @return the verdicts, in the same order as the submitted checks
+     */
+    public List<ExerciseCheckResponse> checkExercises(List<BatchExerciseCheckRequest.Item> checks) {
+        CurriculumSnapshot snapshot = curriculumSnapshotService.current();
+        return checks.stream()
+                .map(check -> buildCheckResponse(compiledExercise(snapshot, check.getExerciseId()), check.getAnswer()))
+                .toList();
+    }
 
-        String rawExpected = String.valueOf(exercise.getCorrectAnswer().get("answer"));
-        String normExpected = normalizeText(rawExpected);
-        String normUser = normalizeText(userAnswer);
+    private static CompiledExercise compiledExercise(CurriculumSnapshot snapshot, UUID exerciseId) {
+        return snapshot.exercise(exerciseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exercise not found"))
+                .compiled();
+    }
 
-        // Perfect match
-        if (normExpected.equals(normUser)) {
-            return ExerciseCheckResponse.builder()
-                    .isCorrect(true).isAlmostCorrect(false)
-                    .feedbackMessage("Tökéletes! ✅").build();
+    private ExerciseCheckResponse buildCheckResponse(CompiledExercise exercise, String userAnswer) {
+        if (!exercise.hasAnswerKey()) {
+            return ExerciseCheckResponse.builder().exerciseId(exercise.getExerciseId()).isCorrect(true).build();
         }
 
-        // Almost correct check
-        boolean isAlmostCorrect = false;
-        String feedbackMsg = "Helytelen! Semmi baj, menjünk tovább. ❌";
+        AnswerVerdict verdict = judge(exercise, userAnswer);
 
-        if ("WORD_BANK".equals(exercise.getType())) {
-            // WORDBANK: only 1 item in the wrong place?
-            List<String> expectedWords = List.of(normExpected.split(" "));
-            List<String> userWords = List.of(normUser.split(" "));
-
-            if (expectedWords.size() == userWords.size() && new HashSet<>(expectedWords).containsAll(userWords)) {
-                int misplaced = 0;
-                for (int i = 0; i < expectedWords.size(); i++) {
-                    if (!expectedWords.get(i).equals(userWords.get(i))) misplaced++;
-                }
-                if (misplaced > 0 && misplaced <= 2) {
-                    isAlmostCorrect = true;
-                    feedbackMsg = "Majdnem jó! Csak a szórendet keverted meg egy kicsit. 🔄";
-                }
-            }
-        } else {
-            // TYPING: Levenshtein distance
-            int distance = calculateLevenshteinDistance(normExpected, normUser);
-            if (distance <= 2 && normExpected.length() > 4) {
-                isAlmostCorrect = true;
-                feedbackMsg = "Majdnem jó! Csak valahol elírtad egy kicsit. ✍️";
-            }
-        }
-
-        // Build response
         return ExerciseCheckResponse.builder()
-                .isCorrect(false)
-                .isAlmostCorrect(isAlmostCorrect)
+                .exerciseId(exercise.getExerciseId())
+                .isCorrect(verdict.isCorrect())
+                .isAlmostCorrect(verdict.isAlmostCorrect())
                 //.correctAnswer(null)
-                .feedbackMessage(feedbackMsg)
+                .feedbackMessage(verdict.getFeedbackMessage())
                 .build();
     }
 
-    // Levenshtein algorithm
-    private int calculateLevenshteinDistance(String a, String b) {
-        int[][] dp = new int[a.length() + 1][b.length() + 1];
-        for (int i = 0; i <= a.length(); i++) {
-            for (int j = 0; j <= b.length(); j++) {
-                if (i == 0) dp[i][j] = j;
-                else if (j == 0) dp[i][j] = i;
-                else dp[i][j] = min(dp[i - 1][j - 1] +
-                            costOfSubstitution(a.charAt(i - 1), b.charAt(j - 1)),
-                            dp[i - 1][j] + 1, dp[i][j - 1] + 1);
-            }
-        }
-        return dp[a.length()][b.length()];
-    }
-
-    private int costOfSubstitution(char a, char b) { return a == b ? 0 : 1; }
-    private int min(int a, int b, int c) {
-        return Math.min(Math.min(a, b), c);
+    /**
+     * Normalizes a raw answer with the exercise language and dispatches it to the matcher of the exercise type.
+     */
+    private AnswerVerdict judge(CompiledExercise exercise, String rawAnswer) {
+        return exercise.check(textNormalizer.normalize(rawAnswer, exercise.getLanguage()));
     }
-
-}
\ No newline at end of file
+}
@@ -1,22 +1,39 @@
 package com.languageapp.backend.service;
 
+import com.languageapp.backend.dto.projection.LessonCatalogRow;
 import com.languageapp.backend.dto.response.ExerciseResponse;
+import com.languageapp.backend.dto.response.LessonBundleResponse;
+import com.languageapp.backend.dto.response.LessonCatalogPageResponse;
 import com.languageapp.backend.dto.response.LessonResponse;
-import com.languageapp.backend.entity.Exercise;
-import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.dto.response.ProgressResponse;
+import com.languageapp.backend.entity.Progress;
 import com.languageapp.backend.entity.User;
+import com.languageapp.backend.exception.BadRequestException;
 import com.languageapp.backend.exception.ForbiddenException;
 import com.languageapp.backend.exception.ResourceNotFoundException;
 import com.languageapp.backend.repository.LessonRepository;
 import com.languageapp.backend.repository.UserRepository;
 import com.languageapp.backend.repository.ProgressRepository;
-import lombok.RequiredArgsConstructor;
+import com.languageapp.backend.service.attempt.LessonAttemptService;
+import com.languageapp.backend.service.curriculum.ContentHash;
+import com.languageapp.backend.service.curriculum.CurriculumSnapshotService;
+import com.languageapp.backend.service.curriculum.EncodedJson;
+import com.languageapp.backend.service.curriculum.LessonSnapshot;
+import com.languageapp.backend.service.rating.SkillRatingService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service responsible for managing and retrieving educational content.
@@ -24,25 +41,71 @@ import java.util.UUID;
  * Ensures that sensitive data (like correct answers) is stripped by mapping
  * entities to safe Data Transfer Objects (DTOs) before returning them to the controller.
  * Also handles adaptive learning logic to serve difficulty-appropriate lessons.
+ * Curriculum content is read from the in-memory {@link CurriculumSnapshotService curriculum snapshot};
+ * only user specific state is loaded from the database.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class LessonService {
 
-    private final LessonRepository lessonRepository;
+    private final CurriculumSnapshotService curriculumSnapshotService;
     private final UserRepository userRepository;
     private final UserDifficultyCalculator userDifficultyCalculator;
     private final ProgressRepository progressRepository;
+    private final SkillRatingService skillRatingService;
+    private final LessonRepository lessonRepository;
+    private final LessonAttemptService lessonAttemptService;
+    private final TaskExecutor lessonReadExecutor;
+
+    public static final int MAX_CATALOG_PAGE_SIZE = 100;
+    private static final UUID FIRST_LESSON_ID = new UUID(0L, 0L);
+
+    public LessonService(CurriculumSnapshotService curriculumSnapshotService,
+                         UserRepository userRepository,
+                         UserDifficultyCalculator userDifficultyCalculator,
+                         ProgressRepository progressRepository,
+                         SkillRatingService skillRatingService,
+                         LessonRepository lessonRepository,
+                         LessonAttemptService lessonAttemptService,
+                         @Qualifier("lessonReadExecutor") TaskExecutor lessonReadExecutor) {
+        this.curriculumSnapshotService = curriculumSnapshotService;
+        this.userRepository = userRepository;
+        this.userDifficultyCalculator = userDifficultyCalculator;
+        this.progressRepository = progressRepository;
+        this.skillRatingService = skillRatingService;
+        this.lessonRepository = lessonRepository;
+        this.lessonAttemptService = lessonAttemptService;
+        this.lessonReadExecutor = lessonReadExecutor;
+    }
 
     /**
-     * Retrieves all lessons filtered by the user's preferred or dynamically calculated difficulty.
+     * The tailored lesson list of a user together with its entity tag.
+     *
+     * @param etag    fingerprint of the target difficulty, the ranking and the content of the listed lessons
+     * @param lessons the ranked lessons
+     */
+    public record TailoredLessons(String etag, List<LessonResponse> lessons) {
+    }
+
+    /**
+     * The exercises served for a lesson.
+     *
+     * @param exercises the encoded exercise list
+     * @param attemptId the attempt the exercises were drawn for, or {@code null} if the whole lesson is served
+     */
+    public record LessonExercises(EncodedJson exercises, UUID attemptId) {
+    }
+
+    /**
+     * Retrieves all lessons filtered by the user's preferred or dynamically calculated difficulty,
+     * ranked within each topic by the user's skill rating in that topic.
+     * The entity tag is derived from the precomputed lesson content hashes, not from the response body.
      *
      * @param userEmail the email of the authenticated user
-     * @return a list of {@link LessonResponse}
+     * @return the ranked {@link LessonResponse} list and its entity tag
      */
     @Transactional(readOnly = true)
-    public List<LessonResponse> getAllLessonsForUser(String userEmail) {
+    public TailoredLessons getAllLessonsForUser(String userEmail) {
         log.debug("Fetching tailored lessons for user: {}", userEmail);
 
         User user = userRepository.findByEmail(userEmail)
@@ -53,69 +116,250 @@ public class LessonService {
         log.info("Target difficulty for user {} is set to: {}", userEmail, targetDifficulty);
 
         // 2. Only get the correct lessons for desired difficulty
-        List<Lesson> tailoredLessons = lessonRepository.findByDifficulty(targetDifficulty);
+        List<LessonSnapshot> tailoredLessons = curriculumSnapshotService.current().lessonsByDifficulty(targetDifficulty);
+
+        // 3. Recommend the best fitting lessons of every topic first (in-memory ratings, no history reads)
+        List<LessonSnapshot> rankedLessons = skillRatingService.rankLessons(user.getUserId(), tailoredLessons);
 
-        return tailoredLessons.stream()
+        // 4. The tag changes with the target difficulty, the order of the lessons and their content
+        ContentHash etag = ContentHash.start().add(targetDifficulty);
+        for (LessonSnapshot lesson : rankedLessons) {
+            etag.add(lesson.contentHash());
+        }
+
+        return new TailoredLessons(etag.toHex(), rankedLessons.stream()
                 .map(this::mapToLessonResponse)
-                .toList();
+                .toList());
+    }
+
+    /**
+     * Browses the lesson catalog one keyset page at a time, ordered by title, with optional filters.
+     * Students are pinned to their target difficulty, whatever difficulty they ask for.
+     * A page is a single projection query (lessons joined with their topic names), so its cost does not
+     * grow with the size of the catalog or the position of the page.
+     *
+     * @param userEmail  the email of the authenticated user
+     * @param difficulty the difficulty filter, or {@code null} for every difficulty
+     * @param topicId    the topic filter, or {@code null}
+     * @param language   the language filter, or {@code null}
+     * @param after      the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param size       the maximum number of lessons on the page (1-{@value #MAX_CATALOG_PAGE_SIZE})
+     * @return the page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public LessonCatalogPageResponse getLessonCatalog(String userEmail, String difficulty, UUID topicId, String language,
+                                                      String after, int size) {
+        if (size < 1 || size > MAX_CATALOG_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CATALOG_PAGE_SIZE);
+        }
+
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Authenticated user not found"));
+        if ("STUDENT".equals(user.getRole())) {
+            difficulty = userDifficultyCalculator.determineTargetDifficulty(user);
+        }
+
+        String afterTitle = "";
+        UUID afterId = FIRST_LESSON_ID;
+        if (after != null) {
+            String[] cursor = decodeCursor(after);
+            afterTitle = cursor[1];
+            afterId = UUID.fromString(cursor[0]);
+        }
+
+        // One extra row tells whether there is a next page
+        List<LessonCatalogRow> rows = lessonRepository.findCatalogPage(difficulty, topicId, language,
+                afterTitle, afterId, Limit.of(size + 1));
+        boolean hasMore = rows.size() > size;
+        List<LessonCatalogRow> page = hasMore ? rows.subList(0, size) : rows;
+
+        LessonCatalogRow last = page.isEmpty() ? null : page.getLast();
+        return LessonCatalogPageResponse.builder()
+                .lessons(page.stream()
+                        .map(row -> new LessonResponse(row.getLessonId(), row.getTopicName(), row.getTitle(),
+                                row.getDifficulty(), row.getLanguage(), row.getDescription()))
+                        .toList())
+                .nextCursor(hasMore ? encodeCursor(last.getLessonId(), last.getTitle()) : null)
+                .build();
+    }
+
+    /**
+     * Entity tag of the exercise list of a lesson, read from the curriculum snapshot without any database access.
+     * The tag is the same for every user: a client can only hold it after it was allowed to load the exercises.
+     *
+     * @param lessonId the unique identifier of the lesson
+     * @return the tag, or empty if no such lesson exists or the lesson is sampled (every delivery differs)
+     */
+    public Optional<String> getExercisesETag(UUID lessonId) {
+        return curriculumSnapshotService.current().lesson(lessonId)
+                .filter(lesson -> !lesson.sampled())
+                .map(LessonSnapshot::contentHash);
     }
 
     /**
      * Retrieves all exercises for a specific lesson, strictly omitting the correct answers.
      * Includes IDOR security checks to prevent students from accessing restricted difficulty levels.
+     * <p>
+     * The exercises are returned as the final response body (a JSON array of {@link ExerciseResponse}),
+     * serialized and compressed once when the curriculum snapshot was built.
+     * A sampled lesson starts a new attempt instead, serving only the exercises drawn for it.
+     * <p>
+     * Not transactional: the reads are single statements and the attempt is written in its own transaction.
      *
      * @param lessonId the unique identifier of the lesson
      * @param userEmail the email of the authenticated user requesting the exercises
-     * @return a list of {@link ExerciseResponse}
+     * @return the encoded exercise list, with its attempt for a sampled lesson
      */
-    @Transactional(readOnly = true)
-    public List<ExerciseResponse> getExercisesByLessonId(UUID lessonId, String userEmail) {
+    public LessonExercises getExercisesByLessonId(UUID lessonId, String userEmail) {
         log.debug("Fetching safe exercises for lesson ID: {} for user: {}", lessonId, userEmail);
 
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Authenticated user not found"));
 
-        Lesson lesson = lessonRepository.findById(lessonId)
+        LessonSnapshot lesson = findLesson(lessonId);
+
+        if ("STUDENT".equals(user.getRole())) {
+            String allowedDifficulty = userDifficultyCalculator.determineTargetDifficulty(user);
+            boolean hasStarted = progressRepository.findByUserUserIdAndLessonLessonId(user.getUserId(), lessonId).isPresent();
+            checkDifficultyAccess(lesson, userEmail, allowedDifficulty, hasStarted);
+        }
+
+        if (lesson.sampled()) {
+            LessonAttemptService.ServedAttempt attempt = lessonAttemptService.start(user.getUserId(), lesson);
+            return new LessonExercises(attempt.exercises(), attempt.attemptId());
+        }
+        return new LessonExercises(lesson.exercisesJson(), null);
+    }
+
+    /**
+     * Retrieves everything needed to start a lesson in one call: the lesson, its safe exercises and the
+     * caller's progress on it, with the same IDOR check as {@link #getExercisesByLessonId(UUID, String)}.
+     * <p>
+     * Lesson and exercises come from the curriculum snapshot. The two database reads (the user with their
+     * target difficulty, and the progress) do not depend on each other and run in parallel on the
+     * {@code lessonReadExecutor}; the progress found there also decides whether the lesson was already started.
+     * A sampled lesson starts a new attempt, as {@link #getExercisesByLessonId(UUID, String)} does.
+     *
+     * @param lessonId the unique identifier of the lesson
+     * @param userEmail the email of the authenticated user
+     * @return the lesson bundle
+     */
+    public LessonBundleResponse getLessonBundle(UUID lessonId, String userEmail) {
+        log.debug("Fetching lesson bundle for lesson ID: {} for user: {}", lessonId, userEmail);
+
+        LessonSnapshot lesson = findLesson(lessonId);
+
+        CompletableFuture<Caller> caller = CompletableFuture.supplyAsync(() -> {
+            User user = userRepository.findByEmail(userEmail)
+                    .orElseThrow(() -> new ResourceNotFoundException("Authenticated user not found"));
+            return new Caller(user.getUserId(),
+                    "STUDENT".equals(user.getRole()) ? userDifficultyCalculator.determineTargetDifficulty(user) : null);
+        }, lessonReadExecutor);
+        CompletableFuture<Optional<ProgressResponse>> progress = CompletableFuture.supplyAsync(() ->
+                progressRepository.findByUserEmailAndLessonLessonId(userEmail, lessonId)
+                        .map(found -> mapToProgressResponse(found, lesson)), lessonReadExecutor);
+
+        Caller user = join(caller);
+        Optional<ProgressResponse> lessonProgress = join(progress);
+        if (user.allowedDifficulty() != null) {
+            checkDifficultyAccess(lesson, userEmail, user.allowedDifficulty(), lessonProgress.isPresent());
+        }
+
+        EncodedJson exercises = lesson.exercisesJson();
+        UUID attemptId = null;
+        if (lesson.sampled()) {
+            LessonAttemptService.ServedAttempt attempt = lessonAttemptService.start(user.userId(), lesson);
+            exercises = attempt.exercises();
+            attemptId = attempt.attemptId();
+        }
+
+        return LessonBundleResponse.builder()
+                .lesson(mapToLessonResponse(lesson))
+                .exercises(new String(exercises.json(), StandardCharsets.UTF_8))
+                .progress(lessonProgress.orElse(null))
+                .attemptId(attemptId)
+                .build();
+    }
+
+    /**
+     * @param allowedDifficulty the target difficulty of a student, {@code null} for roles not restricted to one
+     */
+    private record Caller(UUID userId, String allowedDifficulty) {
+    }
+
+    private LessonSnapshot findLesson(UUID lessonId) {
+        return curriculumSnapshotService.current().lesson(lessonId)
                 .orElseThrow(() -> {
                     log.warn("Fetch failed: Lesson not found with ID {}", lessonId);
                     return new ResourceNotFoundException("No lesson found with this ID!");
                 });
+    }
 
-        if ("STUDENT".equals(user.getRole())) {
-            String allowedDifficulty = userDifficultyCalculator.determineTargetDifficulty(user);
-            boolean hasStarted = progressRepository.findByUserUserIdAndLessonLessonId(user.getUserId(), lessonId).isPresent();
+    /**
+     * IDOR check for students: a lesson outside the student's target difficulty may only be opened
+     * if the student already started it (e.g. before the target difficulty changed).
+     */
+    private void checkDifficultyAccess(LessonSnapshot lesson, String userEmail, String allowedDifficulty, boolean hasStarted) {
+        if (!lesson.difficulty().equals(allowedDifficulty) && !hasStarted) {
+            log.warn("SECURITY ALERT: User {} attempted to bypass difficulty settings! Requested: {}, Allowed: {}",
+                    userEmail, lesson.difficulty(), allowedDifficulty);
+            throw new ForbiddenException("Access denied: lesson difficulty does not match preferred difficulty!.");
+        }
+    }
 
-            if (!lesson.getDifficulty().equals(allowedDifficulty) && !hasStarted) {
-                log.warn("SECURITY ALERT: User {} attempted to bypass difficulty settings! Requested: {}, Allowed: {}",
-                        userEmail, lesson.getDifficulty(), allowedDifficulty);
-                throw new ForbiddenException("Access denied: lesson difficulty does not match preferred difficulty!.");
+    /**
+     * Waits for a parallel read and rethrows its failure as is (e.g. a {@link ResourceNotFoundException}).
+     */
+    private static <T> T join(CompletableFuture<T> read) {
+        try {
+            return read.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
         }
+    }
 
-        return lesson.getExercises().stream()
-                .map(this::mapToExerciseResponse)
-                .toList();
+    private ProgressResponse mapToProgressResponse(Progress progress, LessonSnapshot lesson) {
+        return ProgressResponse.builder()
+                .lessonId(lesson.lessonId())
+                .lessonTitle(lesson.title())
+                .highestScore(progress.getHighestScore())
+                .isCompleted(progress.getIsCompleted())
+                .lastAttemptAt(progress.getLastAttemptAt())
+                .completedAt(progress.getCompletedAt())
+                .build();
     }
 
-    private LessonResponse mapToLessonResponse(Lesson lesson) {
+    private LessonResponse mapToLessonResponse(LessonSnapshot lesson) {
         return new LessonResponse(
-                lesson.getLessonId(),
-                lesson.getTopic().getName(),
-                lesson.getTitle(),
-                lesson.getDifficulty(),
-                lesson.getLanguage(),
-                lesson.getDescription()
+                lesson.lessonId(),
+                lesson.topicName(),
+                lesson.title(),
+                lesson.difficulty(),
+                lesson.language(),
+                lesson.description()
         );
     }
 
-    private ExerciseResponse mapToExerciseResponse(Exercise exercise) {
-        return new ExerciseResponse(
-                exercise.getExerciseId(),
-                exercise.getLesson().getLessonId(),
-                exercise.getType(),
-                exercise.getContent(),
-                exercise.getAudioUrl(),
-                exercise.getImageUrl()
-        );
+    /** Opaque catalog cursor: the keyset position (lesson ID and title) of the last lesson of a page. */
+    private static String encodeCursor(UUID lessonId, String title) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((lessonId + ":" + title).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @return the lesson ID and the title of the cursor position */
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            UUID.fromString(position[0]);
+            if (position.length == 2) {
+                return position;
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new BadRequestException("Invalid catalog cursor");
     }
-}
\ No newline at end of file
+}
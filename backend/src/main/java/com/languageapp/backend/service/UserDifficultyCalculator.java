@@ -1,13 +1,20 @@
 package com.languageapp.backend.service;
 
-import com.languageapp.backend.entity.Result;
+import com.languageapp.backend.dto.projection.RecentResultRow;
 import com.languageapp.backend.entity.User;
-import com.languageapp.backend.repository.ResultRepository;
+import com.languageapp.backend.entity.UserDifficultyState;
+import com.languageapp.backend.repository.UserDifficultyStateRepository;
+import com.languageapp.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Advanced Dynamic Difficulty Calculator.
@@ -15,13 +22,26 @@ import java.util.List;
  * Utilizes a Weighted Moving Average (WMA) and Hysteresis logic to prevent
  * difficulty "ping-ponging" and accurately track the user's learning curve.
  * It also respects manual difficulty overrides set in the user's profile.
+ * <p>
+ * The inputs (last five scores, last difficulty, attempt count) and the resulting target difficulty
+ * are kept in a {@link UserDifficultyState} that is updated whenever a result is saved, so reading
+ * the target difficulty is a single primary key lookup instead of a scan of the result history.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserDifficultyCalculator {
 
-    private final ResultRepository resultRepository;
+    private static final String DEFAULT_DIFFICULTY = "MEDIUM";
+
+    // Weights: Most recent (40%), 2nd (25%), 3rd (15%), 4th (10%), 5th (10%)
+    private static final double[] WEIGHTS = {0.40, 0.25, 0.15, 0.10, 0.10};
+
+    /** Number of most recent scores the weighted average looks at. */
+    public static final int RECENT_RESULTS_WINDOW = WEIGHTS.length;
+
+    private final UserDifficultyStateRepository userDifficultyStateRepository;
+    private final UserRepository userRepository;
 
     /**
      * Determines the optimal target difficulty for the specified user.
@@ -30,52 +50,129 @@ public class UserDifficultyCalculator {
      * @return the calculated or preferred difficulty level ("EASY", "MEDIUM", or "HARD")
      */
     public String determineTargetDifficulty(User user) {
-        // 1. Check for manual difficulty override
+        // 1. Check for manual difficulty override (no state lookup needed)
         if (!"DYNAMIC".equals(user.getPreferredDifficulty().name())) return user
                 .getPreferredDifficulty()
                 .name();
 
-        // Fetch the 5 most recent results to analyze the learning trend
-        List<Result> recentResults = resultRepository
-                .findTop5ByUserUserIdOrderBySubmittedAtDesc(user.getUserId());
+        return determineTargetDifficulty(user, userDifficultyStateRepository.findById(user.getUserId()).orElse(null));
+    }
+
+    /**
+     * Variant of {@link #determineTargetDifficulty(User)} for callers that already loaded the user's state.
+     *
+     * @param user  the authenticated user entity
+     * @param state the user's difficulty state, or {@code null} if the user has no results yet
+     * @return the calculated or preferred difficulty level ("EASY", "MEDIUM", or "HARD")
+     */
+    public String determineTargetDifficulty(User user, UserDifficultyState state) {
+        if (!"DYNAMIC".equals(user.getPreferredDifficulty().name())) return user
+                .getPreferredDifficulty()
+                .name();
 
         // Default to MEDIUM if the user has no prior history
-        if (recentResults.isEmpty()) {
-            return "MEDIUM";
+        return state != null ? state.getTargetDifficulty() : DEFAULT_DIFFICULTY;
+    }
+
+    /**
+     * Folds a newly saved result into the user's difficulty state and recomputes the target difficulty.
+     *
+     * @param user             the user who submitted the result
+     * @param state            the user's current state, or {@code null} if this is the first result
+     * @param score            the score of the new result
+     * @param lessonDifficulty the difficulty of the lesson of the new result
+     * @return the updated state (a new, persisted one on the first result)
+     */
+    public UserDifficultyState recordResult(User user, UserDifficultyState state, int score, String lessonDifficulty) {
+        if (state == null) {
+            state = new UserDifficultyState();
+            state.setUser(user);
         }
 
-        // 2. Calculate the weighted average of recent scores
-        double weightedScore = calculateWeightedAverage(recentResults);
+        // Shift the window: the new score goes first, the oldest one falls off after five
+        int[] previous = state.getRecentScores();
+        int[] recent = new int[Math.min(previous.length + 1, RECENT_RESULTS_WINDOW)];
+        recent[0] = score;
+        System.arraycopy(previous, 0, recent, 1, recent.length - 1);
+
+        state.setRecentScores(recent);
+        state.setLastDifficulty(lessonDifficulty);
+        state.setAttemptCount(state.getAttemptCount() + 1);
+        state.setTargetDifficulty(calculateTargetDifficulty(state));
+
+        log.debug("Adaptive Eval -> User: {}, Last Difficulty: {}, Target: {}",
+                user.getEmail(), lessonDifficulty, state.getTargetDifficulty());
+
+        // A new state is persisted here; an existing one is managed and written by dirty checking
+        return state.getVersion() == null ? userDifficultyStateRepository.save(state) : state;
+    }
 
-        // 3. Determine the difficulty of the most recently completed lesson
-        String lastDifficulty = recentResults.getFirst().getLesson() != null
-                ? recentResults.getFirst().getLesson().getDifficulty()
-                : "MEDIUM";
+    /**
+     * Builds the difficulty state of a batch of users that have results but no state yet
+     * (users created before the state existed). Safe to run repeatedly.
+     *
+     * @param batchSize the maximum number of users handled by this call
+     * @return the number of states created; 0 once every user is backfilled
+     */
+    @Transactional
+    public int backfillNextBatch(int batchSize) {
+        Map<UUID, List<RecentResultRow>> rowsByUser = new LinkedHashMap<>();
+        for (RecentResultRow row : userDifficultyStateRepository.findRecentResultsOfUsersWithoutState(batchSize)) {
+            rowsByUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row);
+        }
 
-        log.debug("Adaptive Eval -> User: {}, Last Difficulty: {}, Weighted Score: {}",
-                user.getEmail(), lastDifficulty, String.format("%.2f", weightedScore));
+        List<UserDifficultyState> states = new ArrayList<>(rowsByUser.size());
+        rowsByUser.forEach((userId, rows) -> {
+            UserDifficultyState state = new UserDifficultyState();
+            state.setUser(userRepository.getReferenceById(userId));
+            state.setRecentScores(rows.stream().mapToInt(row -> row.getScore() != null ? row.getScore() : 0).toArray());
+            state.setLastDifficulty(rows.getFirst().getDifficulty());
+            state.setAttemptCount(rows.getFirst().getAttempts().intValue());
+            state.setTargetDifficulty(calculateTargetDifficulty(state));
+            states.add(state);
+        });
+
+        userDifficultyStateRepository.saveAll(states);
+        return states.size();
+    }
+
+    private String calculateTargetDifficulty(UserDifficultyState state) {
+        return calculateTargetDifficulty(state.getRecentScores(), state.getLastDifficulty(), state.getAttemptCount());
+    }
+
+    /**
+     * Computes the target difficulty from the difficulty inputs of a user. Pure function, safe to call concurrently.
+     *
+     * @param recentScores   the scores of the most recent results, newest first (at most five are used)
+     * @param lastDifficulty the difficulty of the lesson of the most recent result
+     * @param attemptCount   the total number of results of the user
+     * @return the target difficulty level ("EASY", "MEDIUM", or "HARD")
+     */
+    public String calculateTargetDifficulty(int[] recentScores, String lastDifficulty, int attemptCount) {
+        if (recentScores.length == 0) {
+            return DEFAULT_DIFFICULTY;
+        }
 
-        // 4. Apply hysteresis to determine the next difficulty level
-        return calculateNextDifficulty(lastDifficulty, weightedScore, recentResults.size());
+        // Apply hysteresis to the weighted average of the recent scores
+        return calculateNextDifficulty(lastDifficulty != null ? lastDifficulty : DEFAULT_DIFFICULTY,
+                calculateWeightedAverage(recentScores), attemptCount);
     }
 
     /**
      * Calculates the Weighted Moving Average (WMA) of recent results.
      * Recent attempts carry significantly more weight to reward fresh progress.
      *
-     * @param results the list of recent lesson results
+     * @param scores the recent lesson scores, newest first
      * @return the weighted average score
      */
-    private double calculateWeightedAverage(List<Result> results) {
-        // Weights: Most recent (40%), 2nd (25%), 3rd (15%), 4th (10%), 5th (10%)
-        double[] weights = {0.40, 0.25, 0.15, 0.10, 0.10};
+    private double calculateWeightedAverage(int[] scores) {
         double totalWeight = 0.0;
         double weightedSum = 0.0;
 
-        for (int i = 0; i < results.size(); i++) {
+        for (int i = 0; i < scores.length; i++) {
             // Safely assign weight, falling back to the last defined weight if array bounds are exceeded
-            double weight = weights[Math.min(i, weights.length - 1)];
-            weightedSum += results.get(i).getScore() * weight;
+            double weight = WEIGHTS[Math.min(i, WEIGHTS.length - 1)];
+            weightedSum += scores[i] * weight;
             totalWeight += weight;
         }
 
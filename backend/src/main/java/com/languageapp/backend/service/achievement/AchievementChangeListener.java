@@ -0,0 +1,28 @@
+package com.languageapp.backend.service.achievement;
+
+import com.languageapp.backend.entity.Achievement;
+import com.languageapp.backend.event.AchievementsChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener of {@link Achievement} (instantiated by Spring through Hibernate's bean container)
+ * announcing every write, so the compiled rules are refreshed after the commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class AchievementChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Achievement achievement) {
+        eventPublisher.publishEvent(new AchievementsChangedEvent(achievement.getAchievementId()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.languageapp.backend.service.achievement;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The compiled criteria of an achievement: a predicate over an {@link AchievementStats} snapshot.
+ * Rules are immutable and compiled once by {@link AchievementRuleCompiler}.
+ */
+public sealed interface AchievementRule {
+
+    /**
+     * @return {@code true} if the user described by the snapshot meets the criteria
+     */
+    boolean test(AchievementStats stats);
+
+    /**
+     * @return the triggers after which the outcome of the rule may have changed
+     */
+    Set<AchievementTrigger> triggers();
+
+    /** At least {@code target} completed lessons ({@code FIRST_LESSON} is a target of 1). */
+    record LessonCount(long target) implements AchievementRule {
+        @Override
+        public boolean test(AchievementStats stats) {
+            return stats.completedLessons() >= target;
+        }
+
+        @Override
+        public Set<AchievementTrigger> triggers() {
+            return EnumSet.of(AchievementTrigger.LESSON_COMPLETED);
+        }
+    }
+
+    /** At least {@code target} XP in total. */
+    record XpMilestone(int target) implements AchievementRule {
+        @Override
+        public boolean test(AchievementStats stats) {
+            return stats.xp() >= target;
+        }
+
+        @Override
+        public Set<AchievementTrigger> triggers() {
+            return EnumSet.of(AchievementTrigger.XP_CHANGED);
+        }
+    }
+
+    /** A flawless 100% on the evaluated submission. */
+    record PerfectScore() implements AchievementRule {
+        @Override
+        public boolean test(AchievementStats stats) {
+            return stats.lastScore() == 100;
+        }
+
+        @Override
+        public Set<AchievementTrigger> triggers() {
+            return EnumSet.of(AchievementTrigger.PERFECT_SCORE);
+        }
+    }
+
+    /** Every one of the rules. Evaluated after any of their triggers. */
+    record AllOf(List<AchievementRule> rules) implements AchievementRule {
+        @Override
+        public boolean test(AchievementStats stats) {
+            for (AchievementRule rule : rules) {
+                if (!rule.test(stats)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Set<AchievementTrigger> triggers() {
+            return unionOfTriggers(rules);
+        }
+    }
+
+    /** At least one of the rules. */
+    record AnyOf(List<AchievementRule> rules) implements AchievementRule {
+        @Override
+        public boolean test(AchievementStats stats) {
+            for (AchievementRule rule : rules) {
+                if (rule.test(stats)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Set<AchievementTrigger> triggers() {
+            return unionOfTriggers(rules);
+        }
+    }
+
+    /**
+     * The rule, for submissions made within a time window (e.g. a seasonal event).
+     *
+     * @param from  the start of the window (inclusive), or {@code null} for no lower bound
+     * @param until the end of the window (exclusive), or {@code null} for no upper bound
+     */
+    record Within(LocalDateTime from, LocalDateTime until, AchievementRule rule) implements AchievementRule {
+        @Override
+        public boolean test(AchievementStats stats) {
+            LocalDateTime at = stats.occurredAt();
+            return (from == null || !at.isBefore(from)) && (until == null || at.isBefore(until)) && rule.test(stats);
+        }
+
+        @Override
+        public Set<AchievementTrigger> triggers() {
+            return rule.triggers();
+        }
+    }
+
+    private static Set<AchievementTrigger> unionOfTriggers(List<AchievementRule> rules) {
+        Set<AchievementTrigger> triggers = EnumSet.noneOf(AchievementTrigger.class);
+        for (AchievementRule rule : rules) {
+            triggers.addAll(rule.triggers());
+        }
+        return triggers;
+    }
+}
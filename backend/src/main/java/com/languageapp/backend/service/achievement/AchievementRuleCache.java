@@ -0,0 +1,46 @@
+package com.languageapp.backend.service.achievement;
+
+import com.languageapp.backend.event.AchievementsChangedEvent;
+import com.languageapp.backend.repository.AchievementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the compiled {@link AchievementRules}. They are compiled on first use and dropped once a change
+ * to an achievement has been committed; the next evaluation compiles them again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AchievementRuleCache {
+
+    private final AchievementRepository achievementRepository;
+
+    private volatile AchievementRules rules;
+
+    /**
+     * @return the compiled rules of every achievement
+     */
+    public AchievementRules current() {
+        AchievementRules current = rules;
+        return current != null ? current : compile();
+    }
+
+    /**
+     * Serialized with the invalidation, so rules compiled from data older than a commit are never kept after it.
+     */
+    private synchronized AchievementRules compile() {
+        if (rules == null) {
+            rules = AchievementRules.compile(achievementRepository.findAll());
+        }
+        return rules;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAchievementsChanged(AchievementsChangedEvent event) {
+        log.info("Achievement {} changed. Recompiling the achievement rules on next use.", event.achievementId());
+        rules = null;
+    }
+}
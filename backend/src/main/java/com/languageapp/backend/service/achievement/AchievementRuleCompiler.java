@@ -0,0 +1,93 @@
+package com.languageapp.backend.service.achievement;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the JSONB {@code criteria} of an achievement into an {@link AchievementRule}.
+ * <p>
+ * Supported criteria:
+ * <ul>
+ *   <li>{@code {"type": "FIRST_LESSON"}} and {@code {"type": "LESSON_COUNT", "target": 10}}</li>
+ *   <li>{@code {"type": "XP_MILESTONE", "target": 500}}</li>
+ *   <li>{@code {"type": "PERFECT_SCORE"}}</li>
+ *   <li>{@code {"type": "ALL", "rules": [...]}} and {@code {"type": "ANY", "rules": [...]}}</li>
+ *   <li>{@code {"type": "WITHIN", "from": "2026-12-01T00:00", "until": "2027-01-01T00:00", "rule": {...}}}
+ *       (either bound may be omitted)</li>
+ * </ul>
+ */
+public final class AchievementRuleCompiler {
+
+    private AchievementRuleCompiler() {
+    }
+
+    /**
+     * @param criteria the criteria of an achievement
+     * @return the compiled rule
+     * @throws IllegalArgumentException if the criteria are missing, of an unknown type or malformed
+     */
+    public static AchievementRule compile(Map<String, Object> criteria) {
+        if (criteria == null || criteria.get("type") == null) {
+            throw new IllegalArgumentException("criteria without a type");
+        }
+
+        String type = String.valueOf(criteria.get("type"));
+        return switch (type) {
+            case "FIRST_LESSON" -> new AchievementRule.LessonCount(1);
+            case "LESSON_COUNT" -> new AchievementRule.LessonCount(target(criteria));
+            case "XP_MILESTONE" -> new AchievementRule.XpMilestone(target(criteria));
+            case "PERFECT_SCORE" -> new AchievementRule.PerfectScore();
+            case "ALL" -> new AchievementRule.AllOf(rules(criteria));
+            case "ANY" -> new AchievementRule.AnyOf(rules(criteria));
+            case "WITHIN" -> new AchievementRule.Within(dateTime(criteria, "from"), dateTime(criteria, "until"),
+                    compile(map(criteria.get("rule"))));
+            default -> throw new IllegalArgumentException("unknown criteria type " + type);
+        };
+    }
+
+    private static int target(Map<String, Object> criteria) {
+        Object target = criteria.get("target");
+        if (target instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(String.valueOf(target));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("target must be a number: " + target);
+        }
+    }
+
+    private static List<AchievementRule> rules(Map<String, Object> criteria) {
+        if (!(criteria.get("rules") instanceof List<?> rules) || rules.isEmpty()) {
+            throw new IllegalArgumentException("rules must be a non-empty array");
+        }
+        List<AchievementRule> compiled = new ArrayList<>(rules.size());
+        for (Object rule : rules) {
+            compiled.add(compile(map(rule)));
+        }
+        return List.copyOf(compiled);
+    }
+
+    private static LocalDateTime dateTime(Map<String, Object> criteria, String key) {
+        Object value = criteria.get(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(String.valueOf(value));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(key + " must be an ISO date-time: " + value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        if (!(value instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("nested rule must be an object");
+        }
+        return (Map<String, Object>) map;
+    }
+}
@@ -0,0 +1,77 @@
+package com.languageapp.backend.service.achievement;
+
+import com.languageapp.backend.entity.Achievement;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable set of compiled achievement rules, indexed by the triggers that can change their outcome.
+ * Achievements with malformed criteria are left out (and logged) instead of failing every evaluation.
+ */
+@Slf4j
+public final class AchievementRules {
+
+    /**
+     * An achievement with its compiled criteria.
+     */
+    public record CompiledAchievement(UUID achievementId, String name, AchievementRule rule) {
+    }
+
+    private final Map<AchievementTrigger, List<CompiledAchievement>> byTrigger;
+
+    private AchievementRules(Map<AchievementTrigger, List<CompiledAchievement>> byTrigger) {
+        this.byTrigger = byTrigger;
+    }
+
+    /**
+     * @param achievements every achievement
+     * @return the compiled and indexed rules
+     */
+    public static AchievementRules compile(Collection<Achievement> achievements) {
+        Map<AchievementTrigger, List<CompiledAchievement>> byTrigger = new EnumMap<>(AchievementTrigger.class);
+        for (AchievementTrigger trigger : AchievementTrigger.values()) {
+            byTrigger.put(trigger, new ArrayList<>());
+        }
+
+        for (Achievement achievement : achievements) {
+            AchievementRule rule;
+            try {
+                rule = AchievementRuleCompiler.compile(achievement.getCriteria());
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring achievement {} ({}): invalid criteria, {}", achievement.getName(),
+                        achievement.getAchievementId(), e.getMessage());
+                continue;
+            }
+            CompiledAchievement compiled = new CompiledAchievement(achievement.getAchievementId(), achievement.getName(), rule);
+            for (AchievementTrigger trigger : rule.triggers()) {
+                byTrigger.get(trigger).add(compiled);
+            }
+        }
+
+        byTrigger.replaceAll((trigger, rules) -> List.copyOf(rules));
+        return new AchievementRules(byTrigger);
+    }
+
+    /**
+     * @param triggers the triggers raised by a submission
+     * @return every achievement whose outcome may have changed, each listed once
+     */
+    public Collection<CompiledAchievement> triggeredBy(Set<AchievementTrigger> triggers) {
+        if (triggers.size() == 1) {
+            return byTrigger.get(triggers.iterator().next());
+        }
+        Set<CompiledAchievement> candidates = new LinkedHashSet<>();
+        for (AchievementTrigger trigger : triggers) {
+            candidates.addAll(byTrigger.get(trigger));
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,24 @@
+package com.languageapp.backend.service.achievement;
+
+import com.languageapp.backend.dto.projection.UserAchievementStatsRow;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a user's state right after a lesson submission; every achievement rule is evaluated
+ * against it in memory.
+ *
+ * @param completedLessons the number of lessons the user has completed
+ * @param xp               the user's total XP
+ * @param streak           the user's current streak
+ * @param lastScore        the score (0-100) of the submission being evaluated
+ * @param occurredAt       when the submission was made
+ */
+public record AchievementStats(long completedLessons, int xp, int streak, int lastScore, LocalDateTime occurredAt) {
+
+    public static AchievementStats of(UserAchievementStatsRow row, int lastScore, LocalDateTime occurredAt) {
+        return new AchievementStats(row.getCompletedLessons() != null ? row.getCompletedLessons() : 0,
+                row.getXp() != null ? row.getXp() : 0, row.getStreak() != null ? row.getStreak() : 0, lastScore,
+                occurredAt);
+    }
+}
@@ -0,0 +1,37 @@
+package com.languageapp.backend.service.achievement;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What a lesson submission changed. A rule is only evaluated for submissions that raised one of its triggers,
+ * since its outcome cannot have changed otherwise.
+ */
+public enum AchievementTrigger {
+    /** The user passed a lesson (the completed lesson count may have grown). */
+    LESSON_COMPLETED,
+    /** The user earned XP. */
+    XP_CHANGED,
+    /** The user scored 100 on a lesson. */
+    PERFECT_SCORE;
+
+    /**
+     * @param score    the score of the submission (0-100)
+     * @param passed   whether the submission passed the lesson
+     * @param xpEarned the XP the submission earned
+     * @return the triggers raised by the submission
+     */
+    public static Set<AchievementTrigger> ofSubmission(int score, boolean passed, int xpEarned) {
+        Set<AchievementTrigger> triggers = EnumSet.noneOf(AchievementTrigger.class);
+        if (passed) {
+            triggers.add(LESSON_COMPLETED);
+        }
+        if (xpEarned > 0) {
+            triggers.add(XP_CHANGED);
+        }
+        if (score == 100) {
+            triggers.add(PERFECT_SCORE);
+        }
+        return triggers;
+    }
+}
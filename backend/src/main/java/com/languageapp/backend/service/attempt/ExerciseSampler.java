@@ -0,0 +1,48 @@
+package com.languageapp.backend.service.attempt;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic selection of the exercises served in a lesson attempt.
+ * <p>
+ * Uses Floyd's algorithm: drawing {@code k} of {@code n} items takes exactly {@code k} random numbers and
+ * {@code O(k)} memory, whatever the size of the item bank. The same seed over the same bank size always draws
+ * the same items, so an attempt can be reproduced from its seed.
+ */
+public final class ExerciseSampler {
+
+    private ExerciseSampler() {
+    }
+
+    /**
+     * @param bankSize the number of exercises in the item bank
+     * @param count    the number of exercises to draw
+     * @param seed     the seed of the selection
+     * @return the positions of the drawn exercises in the bank, ascending; every position if {@code count >= bankSize}
+     */
+    public static int[] sample(int bankSize, int count, long seed) {
+        if (count >= bankSize) {
+            int[] all = new int[bankSize];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<Integer> drawn = new HashSet<>(count * 2);
+        for (int upper = bankSize - count; upper < bankSize; upper++) {
+            int candidate = random.nextInt(upper + 1);
+            drawn.add(drawn.contains(candidate) ? upper : candidate);
+        }
+
+        int[] positions = new int[count];
+        int i = 0;
+        for (int position : drawn) {
+            positions[i++] = position;
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+}
@@ -0,0 +1,161 @@
+package com.languageapp.backend.service.attempt;
+
+import com.languageapp.backend.entity.LessonAttempt;
+import com.languageapp.backend.repository.LessonAttemptRepository;
+import com.languageapp.backend.repository.LessonRepository;
+import com.languageapp.backend.repository.UserRepository;
+import com.languageapp.backend.service.curriculum.EncodedJson;
+import com.languageapp.backend.service.curriculum.ExerciseSnapshot;
+import com.languageapp.backend.service.curriculum.LessonSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Serves sampled lessons: every delivery draws {@code sampleSize} exercises from the lesson's item bank
+ * and records them as a {@link LessonAttempt}, which the submission is later graded against.
+ * <p>
+ * The exercises are taken from the curriculum snapshot and the response body is concatenated from their
+ * pre-serialized fragments, so serving an attempt neither loads nor serializes the item bank.
+ * <p>
+ * Reloading a lesson serves the user's open attempt again instead of recording a new one, as long as it is
+ * younger than {@code app.lesson.attempt-ttl}. Attempts that were never submitted are deleted once older than that.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LessonAttemptService {
+
+    private final LessonAttemptRepository lessonAttemptRepository;
+    private final UserRepository userRepository;
+    private final LessonRepository lessonRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.lesson.attempt-ttl:P1D}")
+    private Duration attemptTtl;
+
+    @Value("${app.lesson.attempt-purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    /**
+     * A started attempt.
+     *
+     * @param attemptId the ID the submission must refer to
+     * @param exercises the served exercises, as a JSON array of {@code ExerciseResponse}
+     */
+    public record ServedAttempt(UUID attemptId, EncodedJson exercises) {
+    }
+
+    /**
+     * Serves the user's open attempt at the lesson, or draws the exercises of a new attempt and records it.
+     *
+     * @param userId the user the lesson is served to
+     * @param lesson a sampled lesson
+     * @return the open or started attempt
+     */
+    @Transactional
+    public ServedAttempt start(UUID userId, LessonSnapshot lesson) {
+        Optional<LessonAttempt> open = lessonAttemptRepository.findOpenAttempt(
+                userId, lesson.lessonId(), LocalDateTime.now().minus(attemptTtl));
+        if (open.isPresent()) {
+            List<byte[]> fragments = servedFragments(lesson, open.get().getServedExerciseIds());
+            if (fragments != null) {
+                return new ServedAttempt(open.get().getAttemptId(), EncodedJson.ofArray(fragments, false));
+            }
+        }
+
+        long seed = ThreadLocalRandom.current().nextLong();
+        List<ExerciseSnapshot> served = select(lesson, seed);
+
+        UUID[] servedIds = new UUID[served.size()];
+        List<byte[]> fragments = new ArrayList<>(served.size());
+        for (int i = 0; i < servedIds.length; i++) {
+            servedIds[i] = served.get(i).exerciseId();
+            fragments.add(served.get(i).json());
+        }
+
+        LessonAttempt attempt = new LessonAttempt();
+        attempt.setUser(userRepository.getReferenceById(userId));
+        attempt.setLesson(lessonRepository.getReferenceById(lesson.lessonId()));
+        attempt.setSeed(seed);
+        attempt.setServedExerciseIds(servedIds);
+        attempt.setCreatedAt(LocalDateTime.now());
+        lessonAttemptRepository.save(attempt);
+
+        log.debug("Started attempt {} of lesson {} with {} of {} exercises.", attempt.getAttemptId(), lesson.lessonId(),
+                servedIds.length, lesson.exercises().size());
+        // Unique per attempt: compressing it would cost more than it saves
+        return new ServedAttempt(attempt.getAttemptId(), EncodedJson.ofArray(fragments, false));
+    }
+
+    /**
+     * Deletes the attempts that were never submitted within {@code app.lesson.attempt-ttl}, in batches of
+     * {@code app.lesson.attempt-purge-batch-size}, each in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.lesson.attempt-purge-interval-ms:3600000}",
+            initialDelayString = "${app.lesson.attempt-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(attemptTtl);
+        try {
+            int total = 0;
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status ->
+                        lessonAttemptRepository.deleteUnsubmittedBefore(cutoff, purgeBatchSize));
+                total += deleted;
+            } while (deleted == purgeBatchSize);
+            if (total > 0) {
+                log.info("Deleted {} expired lesson attempts.", total);
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete expired lesson attempts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the fragments of the served exercises in their served order, or {@code null} if one of them is no
+     * longer in the lesson (the curriculum was re-imported since)
+     */
+    private static List<byte[]> servedFragments(LessonSnapshot lesson, UUID[] servedIds) {
+        Map<UUID, ExerciseSnapshot> bank = new HashMap<>();
+        for (ExerciseSnapshot exercise : lesson.exercises()) {
+            bank.put(exercise.exerciseId(), exercise);
+        }
+        List<byte[]> fragments = new ArrayList<>(servedIds.length);
+        for (UUID servedId : servedIds) {
+            ExerciseSnapshot exercise = bank.get(servedId);
+            if (exercise == null) {
+                return null;
+            }
+            fragments.add(exercise.json());
+        }
+        return fragments;
+    }
+
+    /**
+     * @return the exercises drawn by the seed, in their stored order
+     */
+    private static List<ExerciseSnapshot> select(LessonSnapshot lesson, long seed) {
+        List<ExerciseSnapshot> bank = lesson.exercises();
+        int[] positions = ExerciseSampler.sample(bank.size(), lesson.sampleSize(), seed);
+        List<ExerciseSnapshot> selected = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            selected.add(bank.get(position));
+        }
+        return selected;
+    }
+}
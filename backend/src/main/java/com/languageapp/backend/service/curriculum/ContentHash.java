@@ -0,0 +1,56 @@
+package com.languageapp.backend.service.curriculum;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Incremental SHA-256 fingerprint of curriculum content, used as strong HTTP entity tag.
+ * <p>
+ * Every value is written with a length prefix (and {@code null} with its own marker), so different
+ * sequences of values never produce the same input. Not thread-safe; create one per hash.
+ */
+public final class ContentHash {
+
+    /** Hex characters kept from the digest: 128 bits are plenty to tell curriculum versions apart. */
+    private static final int HEX_LENGTH = 32;
+
+    private final MessageDigest digest;
+
+    private ContentHash() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static ContentHash start() {
+        return new ContentHash();
+    }
+
+    /**
+     * Adds a value to the hash. Exercise content records are hashed through their string form, which lists
+     * every component in declaration order.
+     */
+    public ContentHash add(Object value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return this;
+        }
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(new byte[]{(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16),
+                (byte) (bytes.length >>> 8), (byte) bytes.length});
+        digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * @return the hash as lowercase hex; the instance must not be used afterwards
+     */
+    public String toHex() {
+        return HexFormat.of().formatHex(digest.digest()).substring(0, HEX_LENGTH);
+    }
+}
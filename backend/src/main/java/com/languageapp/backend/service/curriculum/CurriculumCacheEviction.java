@@ -0,0 +1,36 @@
+package com.languageapp.backend.service.curriculum;
+
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.LessonTopic;
+import com.languageapp.backend.event.CurriculumImportedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the Hibernate second-level cache consistent with curriculum imports.
+ * <p>
+ * Entity regions and cached queries are invalidated by Hibernate itself on every write. Collections are not:
+ * the import attaches lessons and exercises through their owning {@code @ManyToOne} side only, so a cached
+ * {@code LessonTopic.lessons} or {@code Lesson.exercises} would keep missing them. Both collection regions are
+ * dropped once an import has been committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CurriculumCacheEviction {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurriculumImported(CurriculumImportedEvent event) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictCollectionData(LessonTopic.class.getName() + ".lessons");
+        cache.evictCollectionData(Lesson.class.getName() + ".exercises");
+        log.debug("Evicted the cached lesson and exercise collections after the import of topic {}.", event.topicId());
+    }
+}
@@ -0,0 +1,167 @@
+package com.languageapp.backend.service.curriculum;
+
+import com.languageapp.backend.dto.response.ExerciseResponse;
+import com.languageapp.backend.entity.Exercise;
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.LessonTopic;
+import com.languageapp.backend.entity.content.ExerciseContent;
+import com.languageapp.backend.service.evaluation.AnswerMatcherRegistry;
+import com.languageapp.backend.service.evaluation.CompiledExercise;
+import com.languageapp.backend.service.evaluation.TextNormalizer;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable, read-optimized copy of the whole curriculum (topics, lessons and exercises).
+ * <p>
+ * The curriculum only changes through an admin import, so the read paths work on one snapshot that is
+ * rebuilt and swapped as a whole after every import instead of querying the database per request.
+ * Lessons are indexed by ID, topic and difficulty, exercises by ID (together with their compiled answer keys).
+ * Every lesson carries a {@link ContentHash} of its content for HTTP entity tags and its exercise list already
+ * serialized (plain and gzip compressed), both computed once here instead of per request.
+ * Nothing in a snapshot can be modified, so it is shared by all threads without synchronization.
+ */
+public final class CurriculumSnapshot {
+
+    private final List<TopicSnapshot> topics;
+    private final Map<UUID, TopicSnapshot> topicsById;
+    private final Map<UUID, LessonSnapshot> lessonsById;
+    private final Map<String, List<LessonSnapshot>> lessonsByDifficulty;
+    private final Map<UUID, ExerciseSnapshot> exercisesById;
+
+    private CurriculumSnapshot(List<TopicSnapshot> topics, Map<UUID, LessonSnapshot> lessonsById,
+                               Map<String, List<LessonSnapshot>> lessonsByDifficulty,
+                               Map<UUID, ExerciseSnapshot> exercisesById) {
+        this.topics = topics;
+        this.lessonsById = lessonsById;
+        this.lessonsByDifficulty = lessonsByDifficulty;
+        this.exercisesById = exercisesById;
+
+        Map<UUID, TopicSnapshot> byId = new HashMap<>();
+        for (TopicSnapshot topic : topics) {
+            byId.put(topic.topicId(), topic);
+        }
+        this.topicsById = Map.copyOf(byId);
+    }
+
+    /**
+     * Builds a snapshot from loaded curriculum entities.
+     *
+     * @param topics     every topic (topics without lessons included)
+     * @param lessons    every lesson, with its topic and exercises initialized
+     * @param normalizer the normalizer used to compile the answer keys
+     * @param matchers   the registry resolving the matcher of each exercise type
+     * @param mapper     the mapper serializing the client representations, as the web layer would
+     * @return the new snapshot
+     */
+    public static CurriculumSnapshot build(Collection<LessonTopic> topics, Collection<Lesson> lessons,
+                                           TextNormalizer normalizer, AnswerMatcherRegistry matchers,
+                                           ObjectMapper mapper) {
+        Map<UUID, ExerciseSnapshot> exercisesById = new HashMap<>();
+        Map<UUID, LessonSnapshot> lessonsById = new HashMap<>();
+        Map<UUID, List<LessonSnapshot>> lessonsByTopic = new LinkedHashMap<>();
+
+        for (Lesson lesson : lessons) {
+            LessonTopic topic = lesson.getTopic();
+            ContentHash hash = ContentHash.start()
+                    .add(lesson.getLessonId()).add(topic.getName()).add(lesson.getTitle()).add(lesson.getDifficulty())
+                    .add(lesson.getLanguage()).add(lesson.getDescription()).add(lesson.getSampleSize());
+
+            List<ExerciseSnapshot> exercises = new ArrayList<>(lesson.getExercises().size());
+            List<byte[]> exerciseFragments = new ArrayList<>(lesson.getExercises().size());
+            for (Exercise exercise : lesson.getExercises()) {
+                ExerciseContent content = exercise.getContent();
+                byte[] json = mapper.writeValueAsBytes(new ExerciseResponse(exercise.getExerciseId(), lesson.getLessonId(),
+                        exercise.getType(), content, exercise.getAudioUrl(), exercise.getImageUrl()));
+
+                ExerciseSnapshot snapshot = new ExerciseSnapshot(exercise.getExerciseId(), lesson.getLessonId(),
+                        exercise.getType(), content, exercise.getAudioUrl(), exercise.getImageUrl(),
+                        CompiledExercise.of(exercise, normalizer, matchers), json);
+                exercises.add(snapshot);
+                exerciseFragments.add(json);
+                exercisesById.put(snapshot.exerciseId(), snapshot);
+                hash.add(snapshot.exerciseId()).add(snapshot.type()).add(snapshot.content())
+                        .add(snapshot.audioUrl()).add(snapshot.imageUrl());
+            }
+
+            LessonSnapshot snapshot = new LessonSnapshot(lesson.getLessonId(), topic.getTopicId(), topic.getName(),
+                    lesson.getTitle(), lesson.getDifficulty(), lesson.getLanguage(), lesson.getDescription(),
+                    lesson.getSampleSize(), List.copyOf(exercises), hash.toHex(),
+                    // The item bank of a sampled lesson is never served as a whole
+                    lesson.getSampleSize() == null ? EncodedJson.ofArray(exerciseFragments) : null);
+            lessonsById.put(snapshot.lessonId(), snapshot);
+            lessonsByTopic.computeIfAbsent(topic.getTopicId(), id -> new ArrayList<>()).add(snapshot);
+        }
+
+        // Topics come from their own query, so a topic imported in between the two reads may only be known by its lessons
+        Map<UUID, LessonTopic> allTopics = new LinkedHashMap<>();
+        for (LessonTopic topic : topics) {
+            allTopics.put(topic.getTopicId(), topic);
+        }
+        for (Lesson lesson : lessons) {
+            allTopics.putIfAbsent(lesson.getTopic().getTopicId(), lesson.getTopic());
+        }
+
+        List<TopicSnapshot> topicSnapshots = new ArrayList<>(allTopics.size());
+        Map<String, List<LessonSnapshot>> lessonsByDifficulty = new HashMap<>();
+        for (LessonTopic topic : allTopics.values()) {
+            List<LessonSnapshot> topicLessons = lessonsByTopic.getOrDefault(topic.getTopicId(), List.of());
+            topicSnapshots.add(new TopicSnapshot(topic.getTopicId(), topic.getName(), topic.getDescription(),
+                    List.copyOf(topicLessons)));
+            for (LessonSnapshot lesson : topicLessons) {
+                if (lesson.difficulty() != null) {
+                    lessonsByDifficulty.computeIfAbsent(lesson.difficulty(), difficulty -> new ArrayList<>()).add(lesson);
+                }
+            }
+        }
+
+        Map<String, List<LessonSnapshot>> immutableByDifficulty = new HashMap<>();
+        lessonsByDifficulty.forEach((difficulty, list) -> immutableByDifficulty.put(difficulty, List.copyOf(list)));
+
+        return new CurriculumSnapshot(List.copyOf(topicSnapshots), Map.copyOf(lessonsById),
+                Map.copyOf(immutableByDifficulty), Map.copyOf(exercisesById));
+    }
+
+    /**
+     * @return every topic of the curriculum
+     */
+    public List<TopicSnapshot> topics() {
+        return topics;
+    }
+
+    public Optional<TopicSnapshot> topic(UUID topicId) {
+        return Optional.ofNullable(topicsById.get(topicId));
+    }
+
+    public Optional<LessonSnapshot> lesson(UUID lessonId) {
+        return Optional.ofNullable(lessonsById.get(lessonId));
+    }
+
+    /**
+     * @param difficulty a difficulty level ("EASY", "MEDIUM" or "HARD")
+     * @return the lessons of the difficulty level, grouped by topic (empty if there are none)
+     */
+    public List<LessonSnapshot> lessonsByDifficulty(String difficulty) {
+        return lessonsByDifficulty.getOrDefault(difficulty, List.of());
+    }
+
+    public Optional<ExerciseSnapshot> exercise(UUID exerciseId) {
+        return Optional.ofNullable(exercisesById.get(exerciseId));
+    }
+
+    public int lessonCount() {
+        return lessonsById.size();
+    }
+
+    public int exerciseCount() {
+        return exercisesById.size();
+    }
+}
@@ -0,0 +1,137 @@
+package com.languageapp.backend.service.curriculum;
+
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.event.CurriculumImportedEvent;
+import com.languageapp.backend.repository.LessonRepository;
+import com.languageapp.backend.repository.LessonTopicRepository;
+import com.languageapp.backend.service.evaluation.AnswerMatcherRegistry;
+import com.languageapp.backend.service.evaluation.CompiledExercise;
+import com.languageapp.backend.service.evaluation.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Holds the current {@link CurriculumSnapshot}.
+ * <p>
+ * The snapshot is built once the application is ready (after the {@code DataSeeder} ran) and rebuilt after every
+ * committed curriculum import. Readers always get a complete snapshot: a new one is only published with a single
+ * volatile write once it is fully built.
+ */
+@Slf4j
+@Service
+public class CurriculumSnapshotService {
+
+    private final LessonTopicRepository topicRepository;
+    private final LessonRepository lessonRepository;
+    private final TextNormalizer textNormalizer;
+    private final AnswerMatcherRegistry answerMatcherRegistry;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+
+    private volatile CurriculumSnapshot snapshot;
+
+    public CurriculumSnapshotService(LessonTopicRepository topicRepository,
+                                     LessonRepository lessonRepository,
+                                     TextNormalizer textNormalizer,
+                                     AnswerMatcherRegistry answerMatcherRegistry,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager) {
+        this.topicRepository = topicRepository;
+        this.lessonRepository = lessonRepository;
+        this.textNormalizer = textNormalizer;
+        this.answerMatcherRegistry = answerMatcherRegistry;
+        this.objectMapper = objectMapper;
+
+        // After-commit listeners still see the importing persistence context, whose lessons have stale
+        // exercise collections; the snapshot is always loaded in a fresh one
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return the current snapshot; built on the spot if a request arrives before the application is ready
+     */
+    public CurriculumSnapshot current() {
+        CurriculumSnapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * Returns the compiled exercises of a lesson, in their stored order, from the snapshot. Exercises never
+     * change once imported, so the snapshot is authoritative for every lesson it contains. Only a lesson committed
+     * after the snapshot was taken (an import racing with a submission) has its exercises loaded and compiled
+     * on the spot, which needs an open persistence context.
+     *
+     * @param lesson the lesson entity
+     * @return the compiled exercises of the lesson
+     */
+    public List<CompiledExercise> compiledExercises(Lesson lesson) {
+        return current().lesson(lesson.getLessonId())
+                .map(snapshot -> snapshot.exercises().stream().map(ExerciseSnapshot::compiled).toList())
+                .orElseGet(() -> lesson.getExercises().stream()
+                        .map(exercise -> CompiledExercise.of(exercise, textNormalizer, answerMatcherRegistry))
+                        .toList());
+    }
+
+    /**
+     * Returns the compiled form of exercises served from the snapshot (the exercises of a lesson attempt).
+     * Exercises are only deleted together with their lesson, so every served exercise is still in the snapshot.
+     *
+     * @param exerciseIds the served exercises
+     * @return the compiled exercises, in the given order
+     */
+    public List<CompiledExercise> compiledExercises(UUID[] exerciseIds) {
+        CurriculumSnapshot current = current();
+        List<CompiledExercise> compiled = new ArrayList<>(exerciseIds.length);
+        for (UUID exerciseId : exerciseIds) {
+            current.exercise(exerciseId).map(ExerciseSnapshot::compiled).ifPresent(compiled::add);
+        }
+        return compiled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Replaces the snapshot once a curriculum import has been committed. Imports running before the
+     * application is ready (the seeder) are picked up by the initial build instead.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurriculumImported(CurriculumImportedEvent event) {
+        if (snapshot != null) {
+            log.info("Curriculum changed (topic {}). Rebuilding the curriculum snapshot.", event.topicId());
+            rebuild();
+        }
+    }
+
+    /**
+     * Loads the whole curriculum with two queries in one read-only transaction and publishes it as the new snapshot.
+     * Serialized, so a rebuild started after a commit always publishes a snapshot containing it.
+     *
+     * @return the new snapshot
+     */
+    public synchronized CurriculumSnapshot rebuild() {
+        long start = System.nanoTime();
+        CurriculumSnapshot built = readTransaction.execute(status -> CurriculumSnapshot.build(topicRepository.findAll(),
+                lessonRepository.findAllWithTopicAndExercises(), textNormalizer, answerMatcherRegistry, objectMapper));
+        snapshot = built;
+
+        log.info("Curriculum snapshot built: {} topics, {} lessons, {} exercises in {} ms.", built.topics().size(),
+                built.lessonCount(), built.exerciseCount(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+}
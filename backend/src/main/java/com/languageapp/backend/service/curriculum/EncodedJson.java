@@ -0,0 +1,76 @@
+package com.languageapp.backend.service.curriculum;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON document serialized once and kept as the final response bytes, plain and gzip compressed.
+ * The arrays are shared and must never be modified.
+ *
+ * @param json the UTF-8 encoded JSON
+ * @param gzip the gzip compressed JSON, or {@code null} if compression would not make it smaller
+ */
+public record EncodedJson(byte[] json, byte[] gzip) {
+
+    /**
+     * Encodes a JSON array from already serialized elements, without parsing or re-serializing them.
+     *
+     * @param elements the serialized array elements
+     * @return the encoded array
+     */
+    public static EncodedJson ofArray(List<byte[]> elements) {
+        return ofArray(elements, true);
+    }
+
+    /**
+     * Encodes a JSON array from already serialized elements, without parsing or re-serializing them.
+     *
+     * @param elements the serialized array elements
+     * @param compress {@code false} for a document served only once, which is not worth compressing
+     * @return the encoded array
+     */
+    public static EncodedJson ofArray(List<byte[]> elements, boolean compress) {
+        int length = 2 + Math.max(0, elements.size() - 1);
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+
+        byte[] json = new byte[length];
+        int position = 0;
+        json[position++] = '[';
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                json[position++] = ',';
+            }
+            byte[] element = elements.get(i);
+            System.arraycopy(element, 0, json, position, element.length);
+            position += element.length;
+        }
+        json[position] = ']';
+
+        if (!compress) {
+            return new EncodedJson(json, null);
+        }
+        byte[] gzip = gzip(json);
+        return new EncodedJson(json, gzip.length < json.length ? gzip : null);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 32);
+        // Compressed once per import and served many times, so the slowest level pays off
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,17 @@
+package com.languageapp.backend.service.curriculum;
+
+import com.languageapp.backend.entity.content.ExerciseContent;
+import com.languageapp.backend.service.evaluation.CompiledExercise;
+
+import java.util.UUID;
+
+/**
+ * Immutable read model of an exercise: the fields served to clients and the compiled answer key used for checking.
+ *
+ * @param content  the typed exercise content (immutable)
+ * @param compiled the pre-processed answer key and matcher of the exercise
+ * @param json     the serialized client representation ({@code ExerciseResponse}); must not be modified
+ */
+public record ExerciseSnapshot(UUID exerciseId, UUID lessonId, String type, ExerciseContent content,
+                               String audioUrl, String imageUrl, CompiledExercise compiled, byte[] json) {
+}
@@ -0,0 +1,24 @@
+package com.languageapp.backend.service.curriculum;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable read model of a lesson with its exercises, in their stored order.
+ *
+ * @param sampleSize    the number of exercises served per attempt, or {@code null} if the whole lesson is served
+ * @param exercises     every exercise of the lesson (the item bank of a sampled lesson)
+ * @param contentHash   fingerprint of every client-visible field of the lesson, its topic name and its exercises
+ * @param exercisesJson the final response body of the lesson's exercise list, {@code null} for a sampled lesson
+ */
+public record LessonSnapshot(UUID lessonId, UUID topicId, String topicName, String title, String difficulty,
+                             String language, String description, Integer sampleSize, List<ExerciseSnapshot> exercises,
+                             String contentHash, EncodedJson exercisesJson) {
+
+    /**
+     * @return {@code true} if every delivery of the lesson is a sampled attempt
+     */
+    public boolean sampled() {
+        return sampleSize != null;
+    }
+}
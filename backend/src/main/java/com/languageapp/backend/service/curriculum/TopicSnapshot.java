@@ -0,0 +1,10 @@
+package com.languageapp.backend.service.curriculum;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable read model of a topic with its lessons.
+ */
+public record TopicSnapshot(UUID topicId, String name, String description, List<LessonSnapshot> lessons) {
+}
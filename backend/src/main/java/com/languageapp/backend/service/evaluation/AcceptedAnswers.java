@@ -0,0 +1,142 @@
+package com.languageapp.backend.service.evaluation;
+
+import com.languageapp.backend.entity.content.AnswerKey;
+import com.languageapp.backend.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Precompiled set of every answer accepted for an exercise.
+ * <p>
+ * The {@link AnswerKey} of an exercise has the canonical answer (shown in the
+ * mistake summary), optional alternatives (other valid phrasings) and optional
+ * patterns (regular expressions, matched against the whole normalized answer, i.e. they
+ * should be written in lowercase and without punctuation). Exact variants are normalized once into
+ * a hash set, so accepting an answer is a single lookup. For "almost correct" feedback the variants
+ * are bucketed by length: only variants whose length is within the typo budget are compared.
+ */
+public final class AcceptedAnswers {
+
+    private static final AcceptedAnswers NONE = new AcceptedAnswers(Set.of(), new Pattern[0], Map.of());
+
+    private final Set<String> variants;
+    private final Pattern[] patterns;
+    private final Map<Integer, String[]> variantsByLength;
+
+    private AcceptedAnswers(Set<String> variants, Pattern[] patterns, Map<Integer, String[]> variantsByLength) {
+        this.variants = variants;
+        this.patterns = patterns;
+        this.variantsByLength = variantsByLength;
+    }
+
+    /**
+     * Compiles the accepted answers of an answer key.
+     *
+     * @param correctAnswer the answer key of the exercise, may be {@code null}
+     * @param language      the lesson language used for normalization
+     * @param normalizer    the normalizer applied to every variant
+     * @return the compiled answers; empty if the exercise has no answer key
+     */
+    public static AcceptedAnswers compile(AnswerKey correctAnswer, String language, TextNormalizer normalizer) {
+        if (correctAnswer == null || correctAnswer.answer() == null) {
+            return NONE;
+        }
+
+        Set<String> variants = new HashSet<>();
+        variants.add(normalizer.normalize(correctAnswer.answer(), language));
+        for (String alternative : correctAnswer.alternatives()) {
+            variants.add(normalizer.normalize(String.valueOf(alternative), language));
+        }
+
+        List<String> rawPatterns = correctAnswer.patterns();
+        Pattern[] patterns = new Pattern[rawPatterns.size()];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = compilePattern(rawPatterns.get(i));
+        }
+
+        Map<Integer, List<String>> buckets = new HashMap<>();
+        for (String variant : variants) {
+            buckets.computeIfAbsent(variant.length(), length -> new ArrayList<>()).add(variant);
+        }
+        Map<Integer, String[]> variantsByLength = new HashMap<>();
+        buckets.forEach((length, bucket) -> variantsByLength.put(length, bucket.toArray(String[]::new)));
+
+        return new AcceptedAnswers(Set.copyOf(variants), patterns, Map.copyOf(variantsByLength));
+    }
+
+    /**
+     * Validates the patterns of an answer key before it is stored.
+     *
+     * @param correctAnswer the answer key of an imported exercise, may be {@code null}
+     * @throws BadRequestException if a pattern does not compile
+     */
+    public static void validate(AnswerKey correctAnswer) {
+        if (correctAnswer == null) {
+            return;
+        }
+        correctAnswer.patterns().forEach(AcceptedAnswers::compilePattern);
+    }
+
+    /**
+     * @param normalizedAnswer a normalized answer
+     * @return {@code true} if the answer equals one of the variants or matches one of the patterns
+     */
+    public boolean accepts(String normalizedAnswer) {
+        if (variants.contains(normalizedAnswer)) {
+            return true;
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(normalizedAnswer).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the answer is a near miss of any exact variant. Only variants of a comparable
+     * length are looked at, closest lengths first.
+     *
+     * @param normalizedAnswer a normalized answer
+     * @param maxDistance      the largest edit distance still counted as a typo
+     * @param minLength        variants shorter than this are never matched fuzzily
+     * @return {@code true} if some variant is within {@code maxDistance} edits of the answer
+     */
+    public boolean isNearMiss(String normalizedAnswer, int maxDistance, int minLength) {
+        int length = normalizedAnswer.length();
+        for (int delta = 0; delta <= maxDistance; delta++) {
+            if (anyWithin(variantsByLength.get(length - delta), normalizedAnswer, maxDistance, minLength)
+                    || delta > 0 && anyWithin(variantsByLength.get(length + delta), normalizedAnswer, maxDistance, minLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean anyWithin(String[] bucket, String answer, int maxDistance, int minLength) {
+        if (bucket == null) {
+            return false;
+        }
+        for (String variant : bucket) {
+            if (variant.length() >= minLength && BoundedEditDistance.isWithin(variant, answer, maxDistance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Pattern compilePattern(String regex) {
+        try {
+            return Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        } catch (PatternSyntaxException e) {
+            throw new BadRequestException("Invalid answer pattern '" + regex + "': " + e.getDescription());
+        }
+    }
+}
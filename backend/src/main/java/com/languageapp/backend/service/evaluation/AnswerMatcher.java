@@ -0,0 +1,28 @@
+package com.languageapp.backend.service.evaluation;
+
+import java.util.Set;
+
+/**
+ * Strategy deciding whether an answer is correct for one family of exercise types.
+ * <p>
+ * Implementations are Spring beans picked up by the {@link AnswerMatcherRegistry}; a new exercise
+ * type only needs a new implementation, no changes in the evaluation service. The matcher is
+ * resolved once when an exercise is compiled, so the hot path is a single interface call on
+ * pre-processed data. Implementations must be stateless and should not allocate per call.
+ */
+public interface AnswerMatcher {
+
+    /**
+     * @return the {@code Exercise.type} values this matcher is responsible for
+     */
+    Set<String> supportedTypes();
+
+    /**
+     * Matches an already normalized answer against the compiled exercise.
+     *
+     * @param exercise         the compiled exercise (expected answer, tokens, options)
+     * @param normalizedAnswer the user's answer, normalized with the exercise language
+     * @return the verdict for the answer
+     */
+    AnswerVerdict match(CompiledExercise exercise, String normalizedAnswer);
+}
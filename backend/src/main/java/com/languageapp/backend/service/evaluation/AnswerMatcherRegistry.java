@@ -0,0 +1,46 @@
+package com.languageapp.backend.service.evaluation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry resolving the {@link AnswerMatcher} responsible for an {@code Exercise.type}.
+ * <p>
+ * Built once at startup from every matcher bean. Types without a dedicated matcher are
+ * checked as free text by the {@link TypingAnswerMatcher}.
+ */
+@Slf4j
+@Component
+public class AnswerMatcherRegistry {
+
+    private final Map<String, AnswerMatcher> matchersByType;
+    private final AnswerMatcher fallbackMatcher;
+
+    public AnswerMatcherRegistry(List<AnswerMatcher> matchers, TypingAnswerMatcher fallbackMatcher) {
+        Map<String, AnswerMatcher> byType = new HashMap<>();
+        for (AnswerMatcher matcher : matchers) {
+            for (String type : matcher.supportedTypes()) {
+                AnswerMatcher previous = byType.putIfAbsent(type, matcher);
+                if (previous != null) {
+                    throw new IllegalStateException("Exercise type " + type + " is claimed by both "
+                            + previous.getClass().getSimpleName() + " and " + matcher.getClass().getSimpleName());
+                }
+            }
+        }
+        this.matchersByType = Map.copyOf(byType);
+        this.fallbackMatcher = fallbackMatcher;
+        log.info("Registered answer matchers for exercise types: {}", matchersByType.keySet());
+    }
+
+    /**
+     * @param exerciseType the {@code Exercise.type} value
+     * @return the matcher for the type, or the free text matcher if none is registered
+     */
+    public AnswerMatcher forType(String exerciseType) {
+        return exerciseType == null ? fallbackMatcher : matchersByType.getOrDefault(exerciseType, fallbackMatcher);
+    }
+}
@@ -0,0 +1,31 @@
+package com.languageapp.backend.service.evaluation;
+
+/**
+ * Outcome of matching a single answer against a compiled exercise.
+ * Carries the feedback message shown by the immediate check endpoint.
+ */
+public enum AnswerVerdict {
+
+    CORRECT("Tökéletes! ✅"),
+    ALMOST_CORRECT_WORD_ORDER("Majdnem jó! Csak a szórendet keverted meg egy kicsit. 🔄"),
+    ALMOST_CORRECT_TYPO("Majdnem jó! Csak valahol elírtad egy kicsit. ✍️"),
+    INCORRECT("Helytelen! Semmi baj, menjünk tovább. ❌");
+
+    private final String feedbackMessage;
+
+    AnswerVerdict(String feedbackMessage) {
+        this.feedbackMessage = feedbackMessage;
+    }
+
+    public String getFeedbackMessage() {
+        return feedbackMessage;
+    }
+
+    public boolean isCorrect() {
+        return this == CORRECT;
+    }
+
+    public boolean isAlmostCorrect() {
+        return this == ALMOST_CORRECT_WORD_ORDER || this == ALMOST_CORRECT_TYPO;
+    }
+}
@@ -0,0 +1,120 @@
+package com.languageapp.backend.service.evaluation;
+
+/**
+ * Bounded edit distance used for "almost correct" feedback.
+ * <p>
+ * Computes the optimal string alignment distance (Levenshtein plus adjacent transpositions,
+ * the restricted Damerau variant) but only inside a diagonal band of width {@code 2 * max + 1},
+ * and gives up as soon as a whole row exceeds the threshold. Three rolling rows are reused per
+ * thread, so a check allocates nothing regardless of answer length.
+ */
+public final class BoundedEditDistance {
+
+    private static final int ROW_RETAIN_LIMIT = 4096;
+
+    private static final ThreadLocal<int[][]> ROWS = ThreadLocal.withInitial(() -> new int[3][64]);
+
+    private BoundedEditDistance() {
+    }
+
+    /**
+     * @return {@code true} if {@code a} can be turned into {@code b} with at most {@code max} edits
+     */
+    public static boolean isWithin(CharSequence a, CharSequence b, int max) {
+        return distance(a, b, max) <= max;
+    }
+
+    /**
+     * Computes the edit distance between two strings, capped at {@code max + 1}.
+     *
+     * @param a   the first string
+     * @param b   the second string
+     * @param max the largest distance the caller is interested in
+     * @return the exact distance if it is at most {@code max}, otherwise {@code max + 1}
+     */
+    public static int distance(CharSequence a, CharSequence b, int max) {
+        int limit = max + 1;
+
+        // Strip the common prefix and suffix, they never contribute to the distance
+        int start = 0;
+        int endA = a.length();
+        int endB = b.length();
+        while (start < endA && start < endB && a.charAt(start) == b.charAt(start)) {
+            start++;
+        }
+        while (endA > start && endB > start && a.charAt(endA - 1) == b.charAt(endB - 1)) {
+            endA--;
+            endB--;
+        }
+
+        int lenA = endA - start;
+        int lenB = endB - start;
+        if (Math.abs(lenA - lenB) > max) {
+            return limit;
+        }
+        if (lenA == 0 || lenB == 0) {
+            return Math.max(lenA, lenB);
+        }
+
+        int[][] rows = rowsFor(lenB + 1);
+        int[] prevPrev = rows[0];
+        int[] prev = rows[1];
+        int[] curr = rows[2];
+
+        for (int j = 0; j <= lenB; j++) {
+            prev[j] = j <= max ? j : limit;
+        }
+
+        for (int i = 1; i <= lenA; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(lenB, i + max);
+
+            curr[from - 1] = from == 1 && i <= max ? i : limit;
+            int rowMin = curr[from - 1];
+
+            char ca = a.charAt(start + i - 1);
+            for (int j = from; j <= to; j++) {
+                char cb = b.charAt(start + j - 1);
+
+                int value = prev[j - 1] + (ca == cb ? 0 : 1);
+                value = Math.min(value, prev[j] + 1);
+                value = Math.min(value, curr[j - 1] + 1);
+
+                if (i > 1 && j > 1 && ca == b.charAt(start + j - 2) && a.charAt(start + i - 2) == cb) {
+                    value = Math.min(value, prevPrev[j - 2] + 1);
+                }
+
+                value = Math.min(value, limit);
+                curr[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (to < lenB) {
+                curr[to + 1] = limit; // the next row reads one cell past this band
+            }
+
+            // Distances never decrease along an alignment path, so the answer can only be larger
+            if (rowMin > max) {
+                return limit;
+            }
+
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = curr;
+            curr = recycled;
+        }
+
+        return prev[lenB];
+    }
+
+    private static int[][] rowsFor(int length) {
+        int[][] rows = ROWS.get();
+        if (rows[0].length < length) {
+            int capacity = Math.max(length, rows[0].length * 2);
+            rows = new int[3][capacity];
+            if (capacity <= ROW_RETAIN_LIMIT) {
+                ROWS.set(rows);
+            }
+        }
+        return rows;
+    }
+}
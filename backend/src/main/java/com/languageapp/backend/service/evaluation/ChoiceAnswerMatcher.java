@@ -0,0 +1,31 @@
+package com.languageapp.backend.service.evaluation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Matcher for choice based exercises (IMAGE_CHOICE, MULTIPLE_CHOICE).
+ * <p>
+ * Compares option indexes instead of free text, so picking a wrong option that merely looks
+ * similar (e.g. "Mother" vs. "Father") is never reported as a typo.
+ */
+@Component
+public final class ChoiceAnswerMatcher implements AnswerMatcher {
+
+    @Override
+    public Set<String> supportedTypes() {
+        return Set.of("IMAGE_CHOICE", "MULTIPLE_CHOICE");
+    }
+
+    @Override
+    public AnswerVerdict match(CompiledExercise exercise, String normalizedAnswer) {
+        int expectedIndex = exercise.getExpectedOptionIndex();
+
+        // The answer key is not one of the listed options: fall back to the accepted variants
+        if (expectedIndex < 0) {
+            return exercise.getAcceptedAnswers().accepts(normalizedAnswer) ? AnswerVerdict.CORRECT : AnswerVerdict.INCORRECT;
+        }
+        return exercise.indexOfOption(normalizedAnswer) == expectedIndex ? AnswerVerdict.CORRECT : AnswerVerdict.INCORRECT;
+    }
+}
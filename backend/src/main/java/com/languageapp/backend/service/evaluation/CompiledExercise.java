@@ -0,0 +1,116 @@
+package com.languageapp.backend.service.evaluation;
+
+import com.languageapp.backend.entity.Exercise;
+import com.languageapp.backend.entity.content.AnswerKey;
+import com.languageapp.backend.entity.content.ExerciseContent;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, pre-processed view of an {@link Exercise} used on the answer checking hot path.
+ * <p>
+ * Everything that only depends on the exercise itself (the raw and normalized expected answer,
+ * every accepted alternative, the tokenized word list for WORD_BANK, the normalized options of choice exercises, the question
+ * text for the mistake summary and the responsible {@link AnswerMatcher}) is computed exactly once,
+ * so repeated checks never touch the content records or the regex engine for the expected side.
+ */
+@Value
+public class CompiledExercise {
+
+    UUID exerciseId;
+    String type;
+    String question;
+
+    /** The {@code Lesson.language} code deciding how answers to this exercise are normalized. */
+    String language;
+
+    /** The expected answer exactly as stored, or {@code null} if the exercise has no answer key. */
+    String rawExpected;
+    String normalizedExpected;
+
+    /** Normalized expected answer split into words (used for word order comparisons). */
+    List<String> expectedTokens;
+
+    /** Normalized options of choice exercises, in display order. */
+    List<String> normalizedOptions;
+
+    /** Position of the expected answer among the options, or -1 if it is not one of them. */
+    int expectedOptionIndex;
+
+    /** The canonical answer, its alternatives and patterns, precompiled for lookup. */
+    AcceptedAnswers acceptedAnswers;
+
+    AnswerMatcher matcher;
+
+    /**
+     * Builds the compiled representation of an exercise entity.
+     *
+     * @param exercise   the loaded exercise entity, with its lesson initialized
+     * @param normalizer the normalizer applied to the expected answer and the options
+     * @param matchers   the registry resolving the matcher for the exercise type
+     * @return the compiled exercise
+     */
+    public static CompiledExercise of(Exercise exercise, TextNormalizer normalizer, AnswerMatcherRegistry matchers) {
+        String language = exercise.getLesson() != null ? exercise.getLesson().getLanguage() : null;
+
+        ExerciseContent content = exercise.getContent();
+        String question = content != null && content.question() != null ? content.question() : "Unknown question";
+
+        List<String> normalizedOptions = new ArrayList<>();
+        if (content != null) {
+            for (String option : content.options()) {
+                normalizedOptions.add(normalizer.normalize(String.valueOf(option), language));
+            }
+        }
+
+        String rawExpected = null;
+        String normalizedExpected = "";
+        List<String> expectedTokens = List.of();
+
+        AnswerKey answerKey = exercise.getCorrectAnswer();
+        if (answerKey != null && answerKey.answer() != null) {
+            rawExpected = answerKey.answer();
+            normalizedExpected = normalizer.normalize(rawExpected, language);
+            expectedTokens = List.of(normalizedExpected.split(" "));
+        }
+
+        return new CompiledExercise(exercise.getExerciseId(), exercise.getType(), question, language,
+                rawExpected, normalizedExpected, expectedTokens,
+                List.copyOf(normalizedOptions), normalizedOptions.indexOf(normalizedExpected),
+                AcceptedAnswers.compile(answerKey, language, normalizer),
+                matchers.forType(exercise.getType()));
+    }
+
+    /**
+     * @return {@code true} if the backend has a definitive correct answer for this exercise
+     */
+    public boolean hasAnswerKey() {
+        return rawExpected != null;
+    }
+
+    /**
+     * Matches a normalized answer using the matcher of this exercise type.
+     *
+     * @param normalizedAnswer the user's answer, normalized with {@link #getLanguage()}
+     * @return the verdict for the answer
+     */
+    public AnswerVerdict check(String normalizedAnswer) {
+        return matcher.match(this, normalizedAnswer);
+    }
+
+    /**
+     * @param normalizedAnswer a normalized answer
+     * @return the position of the answer among the options, or -1 if it is not one of them
+     */
+    public int indexOfOption(String normalizedAnswer) {
+        for (int i = 0; i < normalizedOptions.size(); i++) {
+            if (normalizedOptions.get(i).equals(normalizedAnswer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
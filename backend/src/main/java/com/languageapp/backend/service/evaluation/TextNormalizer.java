@@ -0,0 +1,172 @@
+package com.languageapp.backend.service.evaluation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Single-pass text normalizer used for answer comparison.
+ * <p>
+ * Removes punctuation, lowercases, collapses whitespace runs into a single space and trims,
+ * all in one walk over the input into a reusable per-thread buffer. Lowercasing follows the
+ * rules of the lesson language (e.g. the dotless i in Turkish) and diacritics are optionally
+ * folded to their base letter for languages where accents are not meaningful in answers.
+ * Hungarian keeps its accents, since á/é/ő/ű distinguish different words.
+ */
+@Component
+public class TextNormalizer {
+
+    private static final int BUFFER_RETAIN_LIMIT = 1024;
+
+    /** Base letters for the Latin-1 Supplement and Latin Extended-A/B blocks (0 = no folding). */
+    private static final char FOLD_START = 'À';
+    private static final char FOLD_END = 'ɏ';
+    private static final char[] FOLD_TABLE = buildFoldTable();
+
+    private static final boolean[] ASCII_PUNCTUATION = buildAsciiPunctuationTable();
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private final Set<String> foldingLanguages;
+    private final ConcurrentHashMap<String, Profile> profiles = new ConcurrentHashMap<>();
+
+    public TextNormalizer(@Value("${app.evaluation.diacritic-folding-languages:en}") Set<String> foldingLanguages) {
+        this.foldingLanguages = foldingLanguages.stream()
+                .map(language -> language.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Normalizes a string for comparison using the rules of the given lesson language.
+     *
+     * @param input    the raw text (expected answer or user input)
+     * @param language the {@code Lesson.language} code (e.g. "en", "hu"), may be {@code null}
+     * @return the normalized text; the input instance itself if it was already normalized
+     */
+    public String normalize(String input, String language) {
+        if (input == null || input.isEmpty() || "null".equals(input)) {
+            return "";
+        }
+
+        Profile profile = profileFor(language);
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+
+        boolean pendingSpace = false;
+        boolean changed = false;
+
+        for (int i = 0, n = input.length(); i < n; i++) {
+            char c = input.charAt(i);
+
+            if (isWhitespace(c)) {
+                // Leading whitespace is dropped, inner runs collapse into a single space
+                pendingSpace = out.length() > 0;
+                changed |= c != ' ';
+                continue;
+            }
+            if (isPunctuation(c)) {
+                continue;
+            }
+
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+
+            char mapped = profile.map(c);
+            changed |= mapped != c;
+            out.append(mapped);
+        }
+
+        // Every kept character maps 1:1, so any dropped punctuation or whitespace shows up as a length difference
+        changed |= out.length() != input.length();
+        String result = changed ? out.toString() : input;
+        if (out.capacity() > BUFFER_RETAIN_LIMIT) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private Profile profileFor(String language) {
+        String key = language == null ? "" : language;
+        Profile profile = profiles.get(key);
+        if (profile == null) {
+            profile = profiles.computeIfAbsent(key, this::createProfile);
+        }
+        return profile;
+    }
+
+    private Profile createProfile(String language) {
+        String code = language.trim().toLowerCase(Locale.ROOT);
+        int separator = code.indexOf('-') >= 0 ? code.indexOf('-') : code.indexOf('_');
+        String primary = separator >= 0 ? code.substring(0, separator) : code;
+
+        boolean turkic = "tr".equals(primary) || "az".equals(primary);
+        return new Profile(turkic, foldingLanguages.contains(code) || foldingLanguages.contains(primary));
+    }
+
+    private static boolean isWhitespace(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static boolean isPunctuation(char c) {
+        if (c < 128) {
+            return ASCII_PUNCTUATION[c];
+        }
+        return switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION,
+                 Character.START_PUNCTUATION, Character.END_PUNCTUATION,
+                 Character.INITIAL_QUOTE_PUNCTUATION, Character.FINAL_QUOTE_PUNCTUATION,
+                 Character.OTHER_PUNCTUATION -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean[] buildAsciiPunctuationTable() {
+        // Same set as the POSIX \p{Punct} class: !"#$%&'()*+,-./:;<=>?@[\]^_`{|}~
+        boolean[] table = new boolean[128];
+        for (char c : "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~".toCharArray()) {
+            table[c] = true;
+        }
+        return table;
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[FOLD_END - FOLD_START + 1];
+        for (char c = FOLD_START; c <= FOLD_END; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            char base = decomposed.charAt(0);
+            if (decomposed.length() > 1 && base < 128 && Character.isLetter(base)) {
+                table[c - FOLD_START] = Character.toLowerCase(base);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Per-language character mapping: locale-correct lowercasing plus optional diacritic folding.
+     */
+    private record Profile(boolean turkicCasing, boolean foldDiacritics) {
+
+        char map(char c) {
+            if (turkicCasing) {
+                if (c == 'I') return 'ı';
+                if (c == 'İ') return 'i';
+            }
+            char lower = c < 128
+                    ? (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c)
+                    : Character.toLowerCase(c);
+
+            if (foldDiacritics && lower >= FOLD_START && lower <= FOLD_END) {
+                char base = FOLD_TABLE[lower - FOLD_START];
+                return base != 0 ? base : lower;
+            }
+            return lower;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.languageapp.backend.service.evaluation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Matcher for free text exercises (TRANSLATION, TYPING).
+ * <p>
+ * Any accepted variant (or pattern) after normalization is correct; a small bounded edit distance
+ * to a variant longer than a few characters is reported as an almost correct typo. Also used as the fallback for
+ * exercise types without a dedicated matcher.
+ */
+@Component
+public final class TypingAnswerMatcher implements AnswerMatcher {
+
+    private static final int MAX_TYPO_DISTANCE = 2;
+    private static final int MIN_TYPO_CHECK_LENGTH = 5;
+
+    @Override
+    public Set<String> supportedTypes() {
+        return Set.of("TRANSLATION", "TYPING");
+    }
+
+    @Override
+    public AnswerVerdict match(CompiledExercise exercise, String normalizedAnswer) {
+        AcceptedAnswers accepted = exercise.getAcceptedAnswers();
+        if (accepted.accepts(normalizedAnswer)) {
+            return AnswerVerdict.CORRECT;
+        }
+        if (accepted.isNearMiss(normalizedAnswer, MAX_TYPO_DISTANCE, MIN_TYPO_CHECK_LENGTH)) {
+            return AnswerVerdict.ALMOST_CORRECT_TYPO;
+        }
+        return AnswerVerdict.INCORRECT;
+    }
+}
@@ -0,0 +1,86 @@
+package com.languageapp.backend.service.evaluation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matcher for WORD_BANK exercises.
+ * <p>
+ * Any accepted variant is correct. An answer that uses exactly the words of the canonical answer
+ * (as a multiset) with at most two of them in the wrong position is almost correct. The answer is
+ * scanned in place word by word and used tokens are tracked in a bit mask, so no substrings or
+ * collections are created per check.
+ */
+@Component
+public final class WordBankAnswerMatcher implements AnswerMatcher {
+
+    private static final int MAX_MISPLACED_WORDS = 2;
+
+    @Override
+    public Set<String> supportedTypes() {
+        return Set.of("WORD_BANK");
+    }
+
+    @Override
+    public AnswerVerdict match(CompiledExercise exercise, String normalizedAnswer) {
+        if (exercise.getAcceptedAnswers().accepts(normalizedAnswer)) {
+            return AnswerVerdict.CORRECT;
+        }
+
+        List<String> expected = exercise.getExpectedTokens();
+        int tokenCount = expected.size();
+        if (tokenCount == 0 || tokenCount > Long.SIZE || normalizedAnswer.isEmpty()) {
+            return AnswerVerdict.INCORRECT;
+        }
+
+        long usedTokens = 0L;
+        int misplaced = 0;
+        int position = 0;
+        int wordStart = 0;
+        int length = normalizedAnswer.length();
+
+        while (wordStart <= length) {
+            int wordEnd = normalizedAnswer.indexOf(' ', wordStart);
+            if (wordEnd < 0) {
+                wordEnd = length;
+            }
+            if (position >= tokenCount) {
+                return AnswerVerdict.INCORRECT; // more words than expected
+            }
+
+            int wordLength = wordEnd - wordStart;
+            if (!sameWord(expected.get(position), normalizedAnswer, wordStart, wordLength)) {
+                misplaced++;
+            }
+
+            int match = findUnusedToken(expected, usedTokens, normalizedAnswer, wordStart, wordLength);
+            if (match < 0) {
+                return AnswerVerdict.INCORRECT; // a word that is not (or no longer) in the bank
+            }
+            usedTokens |= 1L << match;
+
+            position++;
+            wordStart = wordEnd + 1;
+        }
+
+        boolean isPermutation = position == tokenCount;
+        return isPermutation && misplaced > 0 && misplaced <= MAX_MISPLACED_WORDS
+                ? AnswerVerdict.ALMOST_CORRECT_WORD_ORDER
+                : AnswerVerdict.INCORRECT;
+    }
+
+    private static int findUnusedToken(List<String> tokens, long usedTokens, String answer, int offset, int length) {
+        for (int i = 0; i < tokens.size(); i++) {
+            if ((usedTokens & (1L << i)) == 0 && sameWord(tokens.get(i), answer, offset, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean sameWord(String token, String answer, int offset, int length) {
+        return token.length() == length && answer.regionMatches(offset, token, 0, length);
+    }
+}
@@ -0,0 +1,190 @@
+package com.languageapp.backend.service.media;
+
+import com.languageapp.backend.dto.request.ExerciseImportRequest;
+import com.languageapp.backend.dto.request.LessonImportRequest;
+import com.languageapp.backend.dto.request.TopicImportRequest;
+import com.languageapp.backend.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Copies the external media of a curriculum import into the {@link MediaStore} and rewrites the exercise
+ * URLs to the local copies, so rendering an exercise no longer depends on third party hosts.
+ * <p>
+ * Runs before the import transaction: downloads are slow and must not hold a database connection.
+ * Every distinct URL is downloaded once per import.
+ * <p>
+ * The server fetches these URLs itself, so every hop (the URL and each redirect, followed manually) must be
+ * http(s), on an allowed host if {@code app.media.ingest-allowed-hosts} is set, and resolve only to public
+ * addresses: loopback, private, link-local (cloud metadata) and similar ranges are refused. Failures are
+ * reported without the upstream status or headers.
+ */
+@Slf4j
+@Service
+public class MediaIngestService {
+
+    private static final int MAX_REDIRECTS = 3;
+
+    private final MediaStore mediaStore;
+    private final HttpClient httpClient;
+    private final Duration downloadTimeout;
+    private final Set<String> allowedHosts;
+
+    public MediaIngestService(MediaStore mediaStore,
+                              @Value("${app.media.download-timeout:PT10S}") Duration downloadTimeout,
+                              @Value("${app.media.ingest-allowed-hosts:}") Set<String> allowedHosts) {
+        this.mediaStore = mediaStore;
+        this.downloadTimeout = downloadTimeout;
+        this.allowedHosts = allowedHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(downloadTimeout)
+                // Redirects are followed by download(), which checks every target
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Replaces every external image and audio URL of the import with the URL of its local copy.
+     *
+     * @param request the import, modified in place
+     * @throws BadRequestException if an asset cannot be downloaded or is not an accepted media type
+     */
+    public void ingest(TopicImportRequest request) {
+        if (request.getLessons() == null) {
+            return;
+        }
+
+        Map<String, String> localUrls = new HashMap<>();
+        for (LessonImportRequest lesson : request.getLessons()) {
+            if (lesson.getExercises() == null) {
+                continue;
+            }
+            for (ExerciseImportRequest exercise : lesson.getExercises()) {
+                exercise.setImageUrl(localUrl(exercise.getImageUrl(), localUrls));
+                exercise.setAudioUrl(localUrl(exercise.getAudioUrl(), localUrls));
+            }
+        }
+        log.info("Ingested {} media assets for topic: {}", localUrls.size(), request.getTopicName());
+    }
+
+    private String localUrl(String url, Map<String, String> localUrls) {
+        if (url == null || url.isBlank() || mediaStore.isStoredUrl(url)) {
+            return url;
+        }
+        return localUrls.computeIfAbsent(url, this::download);
+    }
+
+    private String download(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid media URL: " + url);
+        }
+
+        try {
+            for (int redirects = 0; ; redirects++) {
+                checkTarget(uri, url);
+                HttpResponse<InputStream> response = httpClient.send(
+                        HttpRequest.newBuilder(uri).timeout(downloadTimeout).GET().build(),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                try (InputStream body = response.body()) {
+                    int status = response.statusCode();
+                    Optional<String> location = response.headers().firstValue("Location");
+                    if (status >= 300 && status < 400 && location.isPresent() && redirects < MAX_REDIRECTS) {
+                        uri = uri.resolve(location.get());
+                        continue;
+                    }
+                    if (status != 200) {
+                        log.warn("Media download of {} failed with HTTP {}.", url, status);
+                        throw downloadFailed(url);
+                    }
+                    String contentType = response.headers().firstValue("Content-Type").orElse(null);
+                    String extension = MediaStore.extensionOf(contentType).orElseThrow(() -> {
+                        log.warn("Media download of {} returned unsupported content type {}.", url, contentType);
+                        return new BadRequestException("Unsupported media type: " + url);
+                    });
+                    return mediaStore.store(body, extension).url();
+                }
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Media download of {} failed: {}", url, e.getMessage());
+            throw downloadFailed(url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BadRequestException("Media download interrupted: " + url);
+        }
+    }
+
+    /**
+     * @param uri the URL about to be requested (the imported one or a redirect target)
+     * @param url the imported URL, for the error message
+     * @throws BadRequestException if the target is not a public http(s) host that is allowed
+     */
+    private void checkTarget(URI uri, String url) {
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!scheme.equals("http") && !scheme.equals("https")) {
+            throw new BadRequestException("Media URL must be http or https: " + url);
+        }
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.isEmpty() || !allowedHosts.isEmpty() && !allowedHosts.contains(host)) {
+            throw new BadRequestException("Media host is not allowed: " + url);
+        }
+
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw downloadFailed(url);
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                log.warn("Refused media download of {}: {} resolves to {}.", url, host, address.getHostAddress());
+                throw new BadRequestException("Media host is not allowed: " + url);
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} for loopback, wildcard, private, link-local, multicast, shared (100.64/10)
+     * and unique local (fc00::/7) addresses
+     */
+    static boolean isPublic(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isAnyLocalAddress() || address.isSiteLocalAddress()
+                || address.isLinkLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            int first = bytes[0] & 0xFF;
+            int second = bytes[1] & 0xFF;
+            return first != 0 && !(first == 100 && second >= 64 && second < 128);
+        }
+        return (bytes[0] & 0xFE) != 0xFC;
+    }
+
+    private static BadRequestException downloadFailed(String url) {
+        return new BadRequestException("Media download failed: " + url);
+    }
+}
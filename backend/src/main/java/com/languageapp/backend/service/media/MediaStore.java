@@ -0,0 +1,213 @@
+package com.languageapp.backend.service.media;
+
+import com.languageapp.backend.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store of exercise media (images and audio) on the local disk.
+ * <p>
+ * An asset is stored under the SHA-256 of its bytes plus its file extension, e.g. {@code 3f…9a.png}, in a
+ * directory named after the first two hex digits of the hash. The key of an asset never changes its content,
+ * so identical uploads are stored once and the assets can be cached by clients forever.
+ * Uploads are streamed into a temporary file while they are hashed, so an asset never has to fit in memory and an
+ * oversized one is rejected after {@code max-size-bytes}. The file is then moved into place atomically: a key is
+ * either missing or complete.
+ */
+@Slf4j
+@Service
+public class MediaStore {
+
+    /** Public path under which {@code MediaController} serves the assets. */
+    public static final String URL_PATH = "/api/media/";
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+
+    /** Accepted extensions and their content types. SVG is served with a sandboxing CSP. */
+    private static final Map<String, MediaType> TYPES = Map.of(
+            "png", MediaType.IMAGE_PNG,
+            "jpg", MediaType.IMAGE_JPEG,
+            "gif", MediaType.IMAGE_GIF,
+            "webp", MediaType.parseMediaType("image/webp"),
+            "svg", MediaType.parseMediaType("image/svg+xml"),
+            "mp3", MediaType.parseMediaType("audio/mpeg"),
+            "ogg", MediaType.parseMediaType("audio/ogg"),
+            "wav", MediaType.parseMediaType("audio/wav"),
+            "m4a", MediaType.parseMediaType("audio/mp4"));
+
+    private static final Map<String, String> EXTENSIONS_BY_TYPE = Map.of(
+            "image/png", "png", "image/jpeg", "jpg", "image/gif", "gif", "image/webp", "webp",
+            "image/svg+xml", "svg", "audio/mpeg", "mp3", "audio/ogg", "ogg", "audio/wav", "wav",
+            "audio/x-wav", "wav", "audio/mp4", "m4a");
+
+    private final Path root;
+    private final String publicBaseUrl;
+    private final long maxSizeBytes;
+
+    public MediaStore(@Value("${app.media.root:media-store}") Path root,
+                      @Value("${app.media.public-base-url:}") String publicBaseUrl,
+                      @Value("${app.media.max-size-bytes:10485760}") long maxSizeBytes) {
+        this.root = root.toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * A stored asset.
+     *
+     * @param key  the content address ({@code <sha256>.<extension>})
+     * @param size the size in bytes
+     * @param url  the URL the asset is served under
+     */
+    public record StoredMedia(String key, long size, String url) {
+    }
+
+    /**
+     * Stores an asset unless an identical one is already stored. Reads at most one buffer past the size limit;
+     * the stream is not closed.
+     *
+     * @param content   the bytes of the asset
+     * @param extension the file extension (see {@link #extensionOf(String)})
+     * @return the stored asset
+     * @throws BadRequestException if the extension is not an accepted media type or the asset is too large
+     */
+    public StoredMedia store(InputStream content, String extension) {
+        String normalizedExtension = normalizeExtension(extension);
+        if (!TYPES.containsKey(normalizedExtension)) {
+            throw new BadRequestException("Unsupported media type: " + extension);
+        }
+
+        try {
+            // In the root, so the move into the hash directory stays on the same file system
+            Files.createDirectories(root);
+            Path temporary = Files.createTempFile(root, ".upload-", ".tmp");
+            try {
+                MessageDigest digest = sha256();
+                long size = copy(content, temporary, digest);
+
+                String key = HexFormat.of().formatHex(digest.digest()) + "." + normalizedExtension;
+                Path target = pathOf(key);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    // Same content under the same key: a concurrent store of the same asset may win, both are complete
+                    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+                    log.info("Stored media asset {} ({} bytes).", key, size);
+                }
+                return new StoredMedia(key, size, urlOf(key));
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store media asset", e);
+        }
+    }
+
+    /**
+     * @return the maximum size of an asset in bytes
+     */
+    public long maxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    /**
+     * @param key a content address, as taken from a request path
+     * @return the file of the asset, or empty if the key is malformed or not stored
+     */
+    public Optional<Path> find(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * @param key a valid content address
+     * @return the content type of the asset, derived from its extension
+     */
+    public MediaType contentTypeOf(String key) {
+        return TYPES.getOrDefault(key.substring(key.lastIndexOf('.') + 1), MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * @param contentType a {@code Content-Type} header value
+     * @return the extension of an accepted media type, or empty
+     */
+    public static Optional<String> extensionOf(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return Optional.ofNullable(EXTENSIONS_BY_TYPE.get(type));
+    }
+
+    /**
+     * @return {@code true} if the URL already points into this store
+     */
+    public boolean isStoredUrl(String url) {
+        return url.startsWith(publicBaseUrl + URL_PATH);
+    }
+
+    private String urlOf(String key) {
+        return publicBaseUrl + URL_PATH + key;
+    }
+
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String normalizeExtension(String extension) {
+        String normalized = extension == null ? "" : extension.toLowerCase(Locale.ROOT);
+        return normalized.equals("jpeg") ? "jpg" : normalized;
+    }
+
+    /**
+     * Copies the stream into the file while hashing it.
+     *
+     * @return the number of bytes copied
+     * @throws BadRequestException as soon as the stream exceeds the size limit
+     */
+    private long copy(InputStream content, Path file, MessageDigest digest) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_BYTES];
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = content.read(buffer)) >= 0) {
+                size += read;
+                if (size > maxSizeBytes) {
+                    throw new BadRequestException("Media asset exceeds " + maxSizeBytes + " bytes");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
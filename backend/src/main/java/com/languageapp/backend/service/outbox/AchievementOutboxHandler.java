@@ -0,0 +1,51 @@
+package com.languageapp.backend.service.outbox;
+
+import com.languageapp.backend.entity.OutboxEvent;
+import com.languageapp.backend.service.AchievementService;
+import com.languageapp.backend.service.achievement.AchievementTrigger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evaluates the achievement rules after a lesson submission. Idempotent: already earned
+ * achievements are skipped by {@link AchievementService}, and a unique constraint keeps events of the same
+ * user that run in parallel from awarding one twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AchievementOutboxHandler implements OutboxEventHandler {
+
+    private final AchievementService achievementService;
+
+    @Override
+    public String eventType() {
+        return OutboxService.LESSON_SUBMITTED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        UUID userId = UUID.fromString(String.valueOf(event.getPayload().get("userId")));
+        int score = ((Number) event.getPayload().get("score")).intValue();
+        Set<AchievementTrigger> triggers = triggersOf(event.getPayload(), score);
+
+        log.debug("Evaluating achievements of event {} for user {} ({}).", event.getEventId(), userId, triggers);
+        achievementService.checkAndAwardAchievements(userId, score, triggers, event.getCreatedAt());
+    }
+
+    /**
+     * Events published before the payload carried {@code passed} and {@code xpEarned} re-check every rule.
+     */
+    private static Set<AchievementTrigger> triggersOf(Map<String, Object> payload, int score) {
+        if (!(payload.get("passed") instanceof Boolean passed) || !(payload.get("xpEarned") instanceof Number xpEarned)) {
+            return EnumSet.allOf(AchievementTrigger.class);
+        }
+        return AchievementTrigger.ofSubmission(score, passed, xpEarned.intValue());
+    }
+}
@@ -0,0 +1,61 @@
+package com.languageapp.backend.service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes finished outbox events, so the table only holds recent history. Processed events are kept for
+ * {@code app.outbox.retention.processed}, permanently failed ones for the longer
+ * {@code app.outbox.retention.failed} to leave time for an investigation.
+ * Deletes run in batches of {@code app.outbox.retention.batch-size}, each in its own short transaction.
+ */
+@Slf4j
+@Component
+public class OutboxCleaner {
+
+    private final OutboxService outboxService;
+    private final Duration processedRetention;
+    private final Duration failedRetention;
+    private final int batchSize;
+
+    public OutboxCleaner(OutboxService outboxService,
+                         @Value("${app.outbox.retention.processed:P7D}") Duration processedRetention,
+                         @Value("${app.outbox.retention.failed:P30D}") Duration failedRetention,
+                         @Value("${app.outbox.retention.batch-size:1000}") int batchSize) {
+        this.outboxService = outboxService;
+        this.processedRetention = processedRetention;
+        this.failedRetention = failedRetention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.retention.interval-ms:3600000}",
+            initialDelayString = "${app.outbox.retention.interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int processed = purgeAll(cutoff -> outboxService.purgeProcessed(cutoff, batchSize), now.minus(processedRetention));
+            int failed = purgeAll(cutoff -> outboxService.purgeFailed(cutoff, batchSize), now.minus(failedRetention));
+            if (processed > 0 || failed > 0) {
+                log.info("Deleted {} processed and {} failed outbox events.", processed, failed);
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete old outbox events: {}", e.getMessage());
+        }
+    }
+
+    private int purgeAll(ToIntFunction<LocalDateTime> purgeBatch, LocalDateTime cutoff) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = purgeBatch.applyAsInt(cutoff);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
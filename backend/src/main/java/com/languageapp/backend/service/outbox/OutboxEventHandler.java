@@ -0,0 +1,24 @@
+package com.languageapp.backend.service.outbox;
+
+import com.languageapp.backend.entity.OutboxEvent;
+
+/**
+ * Asynchronous consumer of outbox events of one type.
+ * <p>
+ * Handlers run inside the processing transaction of the outbox worker. When any handler of an event
+ * fails, the whole event is retried later, so handlers must be idempotent.
+ */
+public interface OutboxEventHandler {
+
+    /**
+     * @return the {@code OutboxEvent.eventType} this handler consumes
+     */
+    String eventType();
+
+    /**
+     * Processes a single event.
+     *
+     * @param event the event being processed
+     */
+    void handle(OutboxEvent event);
+}
@@ -0,0 +1,91 @@
+package com.languageapp.backend.service.outbox;
+
+import com.languageapp.backend.entity.OutboxEvent;
+import com.languageapp.backend.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the registered {@link OutboxEventHandler}s for a claimed event and records the outcome.
+ * Failed events are retried with exponential backoff until the attempt limit is reached.
+ */
+@Slf4j
+@Component
+public class OutboxEventProcessor {
+
+    private static final long MAX_BACKOFF_SECONDS = 600;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Map<String, List<OutboxEventHandler>> handlersByType;
+
+    @Value("${app.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff-seconds:5}")
+    private long retryBackoffSeconds;
+
+    public OutboxEventProcessor(OutboxEventRepository outboxEventRepository, List<OutboxEventHandler> handlers) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlersByType = handlers.stream().collect(Collectors.groupingBy(OutboxEventHandler::eventType));
+    }
+
+    /**
+     * Processes a claimed event in its own transaction. Handler side effects and the PROCESSED
+     * status are committed together.
+     *
+     * @param eventId the ID of a claimed event
+     */
+    @Transactional
+    public void process(UUID eventId) {
+        OutboxEvent event = outboxEventRepository.findById(eventId).orElse(null);
+        if (event == null || !"PROCESSING".equals(event.getStatus())) {
+            return; // already handled by another worker
+        }
+
+        for (OutboxEventHandler handler : handlersByType.getOrDefault(event.getEventType(), List.of())) {
+            handler.handle(event);
+        }
+
+        event.setAttempts(event.getAttempts() + 1);
+        event.setStatus("PROCESSED");
+        event.setProcessedAt(LocalDateTime.now());
+        event.setLastError(null);
+    }
+
+    /**
+     * Records a failed processing attempt in a separate transaction (the processing one was rolled back)
+     * and schedules the retry, or gives up after the configured number of attempts.
+     *
+     * @param eventId the ID of the failed event
+     * @param error   the failure thrown by a handler
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordFailure(UUID eventId, Exception error) {
+        outboxEventRepository.findById(eventId).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(String.valueOf(error.getMessage()));
+
+            if (attempts >= maxAttempts) {
+                event.setStatus("FAILED");
+                log.error("Outbox event {} ({}) failed permanently after {} attempts: {}",
+                        eventId, event.getEventType(), attempts, error.getMessage());
+            } else {
+                long backoff = Math.min(MAX_BACKOFF_SECONDS, retryBackoffSeconds << (attempts - 1));
+                event.setStatus("PENDING");
+                event.setAvailableAt(LocalDateTime.now().plusSeconds(backoff));
+                log.warn("Outbox event {} ({}) failed, retry #{} in {}s: {}",
+                        eventId, event.getEventType(), attempts, backoff, error.getMessage());
+            }
+        });
+    }
+}
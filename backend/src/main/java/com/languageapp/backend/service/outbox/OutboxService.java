@@ -0,0 +1,102 @@
+package com.languageapp.backend.service.outbox;
+
+import com.languageapp.backend.entity.OutboxEvent;
+import com.languageapp.backend.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Write side, claiming and retention of the transactional outbox.
+ * <p>
+ * Business transactions record follow-up work (achievements, other derived state) as outbox events
+ * instead of doing it synchronously, so it commits or rolls back together with the business change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    /** A lesson was submitted and evaluated. Payload: userId, lessonId, resultId, score. */
+    public static final String LESSON_SUBMITTED = "LESSON_SUBMITTED";
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    /**
+     * Records an event in the caller's transaction. Must not be called outside a transaction,
+     * otherwise the event could be stored without (or despite a rollback of) the business change.
+     *
+     * @param eventType the event type, see the constants of this class
+     * @param payload   the JSON payload of the event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setPayload(payload);
+        event.setAvailableAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+    }
+
+    /**
+     * Locks a batch of due events and leases them to this worker by pushing their availability
+     * into the future. If the worker dies, the events become due again once the lease expires.
+     *
+     * @return the IDs of the claimed events
+     */
+    @Transactional
+    public List<UUID> claimDueEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.lockDueEvents(now, batchSize);
+
+        for (OutboxEvent event : events) {
+            event.setStatus("PROCESSING");
+            event.setAvailableAt(now.plusSeconds(leaseSeconds));
+        }
+        if (!events.isEmpty()) {
+            log.debug("Claimed {} outbox events.", events.size());
+        }
+        return events.stream().map(OutboxEvent::getEventId).toList();
+    }
+
+    /**
+     * Deletes one batch of events processed before the cutoff.
+     *
+     * @return the number of deleted events; less than the batch size once none are left
+     */
+    @Transactional
+    public int purgeProcessed(LocalDateTime cutoff, int batchSize) {
+        return outboxEventRepository.deleteProcessedBefore(cutoff, batchSize);
+    }
+
+    /**
+     * Deletes one batch of permanently failed events created before the cutoff. Each one is logged with its
+     * last error first, so the failure stays traceable after the row is gone.
+     *
+     * @return the number of deleted events; less than the batch size once none are left
+     */
+    @Transactional
+    public int purgeFailed(LocalDateTime cutoff, int batchSize) {
+        List<OutboxEvent> events = outboxEventRepository.findFailedBefore(cutoff, batchSize);
+        for (OutboxEvent event : events) {
+            log.warn("Discarding failed outbox event {} ({}, created {}, {} attempts): {}", event.getEventId(),
+                    event.getEventType(), event.getCreatedAt(), event.getAttempts(), event.getLastError());
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        return events.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.languageapp.backend.service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Polls the outbox and hands claimed events to the background worker pool.
+ * Can be switched off with {@code app.outbox.worker.enabled=false} (e.g. in tests).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxWorker {
+
+    private final OutboxService outboxService;
+    private final OutboxEventProcessor outboxEventProcessor;
+
+    private final TaskExecutor outboxExecutor;
+
+    public OutboxWorker(OutboxService outboxService, OutboxEventProcessor outboxEventProcessor,
+                        @Qualifier("outboxExecutor") TaskExecutor outboxExecutor) {
+        this.outboxService = outboxService;
+        this.outboxEventProcessor = outboxEventProcessor;
+        this.outboxExecutor = outboxExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        List<UUID> eventIds;
+        try {
+            eventIds = outboxService.claimDueEvents();
+        } catch (Exception e) {
+            log.error("Failed to claim outbox events: {}", e.getMessage());
+            return;
+        }
+
+        for (UUID eventId : eventIds) {
+            outboxExecutor.execute(() -> processSafely(eventId));
+        }
+    }
+
+    private void processSafely(UUID eventId) {
+        try {
+            outboxEventProcessor.process(eventId);
+        } catch (Exception e) {
+            outboxEventProcessor.recordFailure(eventId, e);
+        }
+    }
+}
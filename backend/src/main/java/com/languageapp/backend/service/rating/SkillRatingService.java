@@ -0,0 +1,173 @@
+package com.languageapp.backend.service.rating;
+
+import com.languageapp.backend.entity.LessonRating;
+import com.languageapp.backend.entity.UserTopicRating;
+import com.languageapp.backend.event.LessonEvaluatedEvent;
+import com.languageapp.backend.repository.LessonRatingRepository;
+import com.languageapp.backend.repository.UserTopicRatingRepository;
+import com.languageapp.backend.service.curriculum.LessonSnapshot;
+import com.languageapp.backend.service.rating.SkillRatingStore.DirtyRating;
+import com.languageapp.backend.service.rating.SkillRatingStore.Rating;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-topic skill model of the learners, based on Elo ratings.
+ * <p>
+ * Every submission is a "match" between the user's rating in the lesson's topic and the lesson's own
+ * difficulty rating: the score (0-100) is the outcome, and both ratings move by {@code K * (outcome - expected)}.
+ * This is O(1) per submission and needs no history. Ratings live in a {@link SkillRatingStore} and are
+ * written back to the database periodically, so a restart loses at most one flush interval.
+ */
+@Slf4j
+@Service
+public class SkillRatingService {
+
+    static final double DEFAULT_USER_RATING = 1500.0;
+    private static final Map<String, Double> INITIAL_LESSON_RATINGS = Map.of("EASY", 1300.0, "MEDIUM", 1500.0, "HARD", 1700.0);
+
+    // New users' ratings move fast until they have a few outcomes in a topic; lessons are shared by everyone and move slowly
+    private static final double PROVISIONAL_USER_K = 40.0;
+    private static final double ESTABLISHED_USER_K = 20.0;
+    private static final int PROVISIONAL_ATTEMPTS = 10;
+    private static final double LESSON_K = 12.0;
+
+    /** Lessons are recommended where the user is expected to score about 70%. */
+    private static final double TARGET_SUCCESS_RATING_GAP = 400.0 * Math.log10(0.7 / 0.3);
+
+    private final SkillRatingStore store = new SkillRatingStore();
+    private final UserTopicRatingRepository userTopicRatingRepository;
+    private final LessonRatingRepository lessonRatingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SkillRatingService(UserTopicRatingRepository userTopicRatingRepository,
+                              LessonRatingRepository lessonRatingRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.userTopicRatingRepository = userTopicRatingRepository;
+        this.lessonRatingRepository = lessonRatingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Updates the ratings once a submission has been committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLessonEvaluated(LessonEvaluatedEvent event) {
+        recordOutcome(event.userId(), event.topicId(), event.lessonId(), event.lessonDifficulty(), event.score());
+    }
+
+    /**
+     * Applies one Elo update to the user's topic rating and to the lesson's rating.
+     *
+     * @param score the submission score (0-100), used as the outcome of the match
+     */
+    public synchronized void recordOutcome(UUID userId, UUID topicId, UUID lessonId, String lessonDifficulty, int score) {
+        Rating user = userRating(userId, topicId);
+        Rating lesson = lessonRating(lessonId, lessonDifficulty);
+
+        double expected = 1.0 / (1.0 + Math.pow(10.0, (lesson.value() - user.value()) / 400.0));
+        double delta = score / 100.0 - expected;
+        double userK = user.attempts() < PROVISIONAL_ATTEMPTS ? PROVISIONAL_USER_K : ESTABLISHED_USER_K;
+
+        store.update(userId, topicId, new Rating(user.value() + userK * delta, user.attempts() + 1),
+                lessonId, new Rating(lesson.value() - LESSON_K * delta, lesson.attempts() + 1));
+    }
+
+    /**
+     * Orders lessons for a user: lessons stay grouped by topic (in order of first appearance), and within
+     * a topic the lesson whose rating is closest to the user's "sweet spot" in that topic comes first.
+     *
+     * @param userId  the user to rank for
+     * @param lessons the candidate lessons
+     * @return the ranked lessons
+     */
+    public List<LessonSnapshot> rankLessons(UUID userId, List<LessonSnapshot> lessons) {
+        Map<UUID, List<LessonSnapshot>> lessonsByTopic = new LinkedHashMap<>();
+        for (LessonSnapshot lesson : lessons) {
+            lessonsByTopic.computeIfAbsent(lesson.topicId(), id -> new ArrayList<>()).add(lesson);
+        }
+
+        List<LessonSnapshot> ranked = new ArrayList<>(lessons.size());
+        lessonsByTopic.forEach((topicId, topicLessons) -> {
+            double target = userRating(userId, topicId).value() - TARGET_SUCCESS_RATING_GAP;
+            topicLessons.sort(Comparator.comparingDouble(lesson ->
+                    Math.abs(lessonRating(lesson.lessonId(), lesson.difficulty()).value() - target)));
+            ranked.addAll(topicLessons);
+        });
+        return ranked;
+    }
+
+    /**
+     * @return the user's current rating in the topic ({@value #DEFAULT_USER_RATING} before the first outcome)
+     */
+    public Rating userRating(UUID userId, UUID topicId) {
+        Rating rating = store.userTopicRating(userId, topicId);
+        return rating != null ? rating : new Rating(DEFAULT_USER_RATING, 0);
+    }
+
+    private Rating lessonRating(UUID lessonId, String difficulty) {
+        Rating rating = store.lessonRating(lessonId);
+        return rating != null ? rating : new Rating(INITIAL_LESSON_RATINGS.getOrDefault(difficulty, DEFAULT_USER_RATING), 0);
+    }
+
+    /**
+     * Loads the persisted ratings into memory once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRatings() {
+        List<UserTopicRating> userRatings = userTopicRatingRepository.findAll();
+        for (UserTopicRating rating : userRatings) {
+            store.loadUserTopicRating(rating.getUser().getUserId(), rating.getTopic().getTopicId(),
+                    new Rating(rating.getRating(), rating.getAttempts()));
+        }
+        List<LessonRating> lessonRatings = lessonRatingRepository.findAll();
+        for (LessonRating rating : lessonRatings) {
+            store.loadLessonRating(rating.getLessonId(), new Rating(rating.getRating(), rating.getAttempts()));
+        }
+        log.info("Loaded {} topic skill ratings and {} lesson ratings.", userRatings.size(), lessonRatings.size());
+    }
+
+    /**
+     * Writes every rating changed since the previous flush back to the database in one transaction.
+     * On failure the ratings stay dirty and are retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.rating.flush-interval-ms:30000}",
+            initialDelayString = "${app.rating.flush-interval-ms:30000}")
+    @PreDestroy
+    public void flush() {
+        List<DirtyRating> dirty = store.drainDirty();
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (DirtyRating rating : dirty) {
+                    if (rating.topicId() != null) {
+                        userTopicRatingRepository.upsert(rating.subjectId(), rating.topicId(), rating.value(), rating.attempts());
+                    } else {
+                        lessonRatingRepository.upsert(rating.subjectId(), rating.value(), rating.attempts());
+                    }
+                }
+            });
+            log.debug("Persisted {} changed ratings.", dirty.size());
+        } catch (Exception e) {
+            store.markDirty(dirty);
+            log.error("Failed to persist {} ratings, retrying on the next flush: {}", dirty.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.languageapp.backend.service.rating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact in-memory store of the Elo ratings of (user, topic) pairs and of lessons.
+ * <p>
+ * Every UUID is interned to a dense {@code int} once; a (user, topic) pair is then a single
+ * {@code long} key in an open addressing table of parallel primitive arrays instead of a map of
+ * boxed keys and value objects. Changed entries are flagged dirty and collected by
+ * {@link #drainDirty()} for periodic persistence. All methods are synchronized: every operation
+ * is O(1) and short.
+ */
+public final class SkillRatingStore {
+
+    private final Map<UUID, Integer> indexByUuid = new HashMap<>();
+    private UUID[] uuidByIndex = new UUID[256];
+
+    private final RatingTable userTopicRatings = new RatingTable(1024);
+    private final RatingTable lessonRatings = new RatingTable(256);
+
+    /**
+     * A rating value and the number of outcomes it was learned from.
+     */
+    public record Rating(double value, int attempts) {
+    }
+
+    /**
+     * A changed rating to be persisted; {@code topicId} is {@code null} for lesson ratings.
+     */
+    public record DirtyRating(UUID subjectId, UUID topicId, double value, int attempts) {
+    }
+
+    /**
+     * @return the user's rating in the topic, or {@code null} if the user has no outcome in it yet
+     */
+    public synchronized Rating userTopicRating(UUID userId, UUID topicId) {
+        Integer user = indexByUuid.get(userId);
+        Integer topic = indexByUuid.get(topicId);
+        return user == null || topic == null ? null : userTopicRatings.get(pairKey(user, topic));
+    }
+
+    /**
+     * @return the lesson's rating, or {@code null} if nobody submitted the lesson yet
+     */
+    public synchronized Rating lessonRating(UUID lessonId) {
+        Integer lesson = indexByUuid.get(lessonId);
+        return lesson == null ? null : lessonRatings.get(lesson);
+    }
+
+    /**
+     * Stores both ratings of an outcome in one step, flagging them for persistence.
+     */
+    public synchronized void update(UUID userId, UUID topicId, Rating userRating, UUID lessonId, Rating lessonRating) {
+        userTopicRatings.put(pairKey(intern(userId), intern(topicId)), userRating, true);
+        lessonRatings.put(intern(lessonId), lessonRating, true);
+    }
+
+    /**
+     * Loads a persisted user rating unless a newer in-memory value exists.
+     */
+    public synchronized void loadUserTopicRating(UUID userId, UUID topicId, Rating rating) {
+        long key = pairKey(intern(userId), intern(topicId));
+        if (userTopicRatings.get(key) == null) {
+            userTopicRatings.put(key, rating, false);
+        }
+    }
+
+    /**
+     * Loads a persisted lesson rating unless a newer in-memory value exists.
+     */
+    public synchronized void loadLessonRating(UUID lessonId, Rating rating) {
+        int lesson = intern(lessonId);
+        if (lessonRatings.get(lesson) == null) {
+            lessonRatings.put(lesson, rating, false);
+        }
+    }
+
+    /**
+     * Collects and clears every dirty entry.
+     *
+     * @return the changed user ratings followed by the changed lesson ratings
+     */
+    public synchronized List<DirtyRating> drainDirty() {
+        List<DirtyRating> dirty = new ArrayList<>();
+        userTopicRatings.drainDirty((key, rating) -> dirty.add(new DirtyRating(
+                uuidByIndex[(int) (key >>> 32)], uuidByIndex[(int) key], rating.value(), rating.attempts())));
+        lessonRatings.drainDirty((key, rating) -> dirty.add(new DirtyRating(
+                uuidByIndex[(int) key], null, rating.value(), rating.attempts())));
+        return dirty;
+    }
+
+    /**
+     * Flags entries dirty again after a failed write.
+     */
+    public synchronized void markDirty(List<DirtyRating> ratings) {
+        for (DirtyRating rating : ratings) {
+            long key = rating.topicId() == null
+                    ? intern(rating.subjectId())
+                    : pairKey(intern(rating.subjectId()), intern(rating.topicId()));
+            (rating.topicId() == null ? lessonRatings : userTopicRatings).markDirty(key);
+        }
+    }
+
+    private int intern(UUID uuid) {
+        Integer index = indexByUuid.get(uuid);
+        if (index != null) {
+            return index;
+        }
+        int next = indexByUuid.size();
+        if (next == uuidByIndex.length) {
+            uuidByIndex = Arrays.copyOf(uuidByIndex, next * 2);
+        }
+        uuidByIndex[next] = uuid;
+        indexByUuid.put(uuid, next);
+        return next;
+    }
+
+    private static long pairKey(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Open addressing (linear probing) hash table from a non-negative {@code long} key to a rating.
+     */
+    private static final class RatingTable {
+
+        private static final long EMPTY = -1L;
+
+        private long[] keys;
+        private double[] values;
+        private int[] attempts;
+        private boolean[] dirty;
+        private int size;
+
+        RatingTable(int capacity) {
+            allocate(capacity);
+        }
+
+        Rating get(long key) {
+            int slot = find(key);
+            return keys[slot] == EMPTY ? null : new Rating(values[slot], attempts[slot]);
+        }
+
+        void put(long key, Rating rating, boolean markDirty) {
+            int slot = find(key);
+            boolean added = keys[slot] == EMPTY;
+
+            keys[slot] = key;
+            values[slot] = rating.value();
+            attempts[slot] = rating.attempts();
+            dirty[slot] = markDirty || !added && dirty[slot];
+
+            if (added && ++size * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        void markDirty(long key) {
+            int slot = find(key);
+            if (keys[slot] != EMPTY) {
+                dirty[slot] = true;
+            }
+        }
+
+        void drainDirty(DirtyConsumer consumer) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (dirty[slot]) {
+                    dirty[slot] = false;
+                    consumer.accept(keys[slot], new Rating(values[slot], attempts[slot]));
+                }
+            }
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            int[] oldAttempts = attempts;
+            boolean[] oldDirty = dirty;
+
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                    attempts[slot] = oldAttempts[i];
+                    dirty[slot] = oldDirty[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            int length = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+            keys = new long[length];
+            Arrays.fill(keys, EMPTY);
+            values = new double[length];
+            attempts = new int[length];
+            dirty = new boolean[length];
+        }
+
+        /** Spreads sequential interned indexes over the whole table (murmur3 finalizer). */
+        private static long mix(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            return key;
+        }
+    }
+
+    @FunctionalInterface
+    private interface DirtyConsumer {
+        void accept(long key, Rating rating);
+    }
+}
@@ -0,0 +1,65 @@
+package com.languageapp.backend.service.submission;
+
+import com.languageapp.backend.dto.request.LessonSubmitRequest;
+import com.languageapp.backend.dto.response.LessonSubmitResponse;
+import com.languageapp.backend.exception.BadRequestException;
+import com.languageapp.backend.service.EvaluationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Entry point of lesson submissions that makes them idempotent when the client sends an {@code Idempotency-Key}.
+ * <p>
+ * Deliberately not transactional: the evaluation runs in its own transaction, so a duplicate that loses
+ * the race on the unique key constraint surfaces here on commit and can be answered with the winner's result.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LessonSubmissionService {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    private final EvaluationService evaluationService;
+    private final SubmissionResponseCache submissionResponseCache;
+
+    /**
+     * Evaluates a submission, or returns the stored response if the same key was already submitted by this user.
+     *
+     * @param userId         the submitting user
+     * @param lessonId       the submitted lesson
+     * @param request        the submission payload
+     * @param idempotencyKey the value of the {@code Idempotency-Key} header, or {@code null}
+     * @return the evaluation results
+     */
+    public LessonSubmitResponse submit(UUID userId, UUID lessonId, LessonSubmitRequest request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return evaluationService.evaluateLesson(userId, lessonId, request);
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        LessonSubmitResponse cached = submissionResponseCache.get(userId, lessonId, idempotencyKey);
+        if (cached != null) {
+            log.debug("Serving duplicate submission of lesson {} by user {} from the cache.", lessonId, userId);
+            return cached;
+        }
+
+        LessonSubmitResponse response;
+        try {
+            response = evaluationService.evaluateLesson(userId, lessonId, request, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first
+            response = evaluationService.findSubmittedResponse(userId, lessonId, request, idempotencyKey)
+                    .orElseThrow(() -> e);
+        }
+
+        submissionResponseCache.put(userId, lessonId, idempotencyKey, response);
+        return response;
+    }
+}
@@ -0,0 +1,83 @@
+package com.languageapp.backend.service.submission;
+
+import com.languageapp.backend.dto.response.LessonSubmitResponse;
+import com.languageapp.backend.exception.BadRequestException;
+import com.languageapp.backend.service.EvaluationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded, TTL-evicted in-memory map from (user, idempotency key) to the response of a submission.
+ * <p>
+ * Serves retried submissions without touching the database. It is only a fast path: entries that
+ * were evicted (or live on another instance) are found through the unique key stored on the result.
+ * Like that lookup, a hit for another lesson than the one the key was first used for is rejected.
+ */
+@Component
+public class SubmissionResponseCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    /** Insertion ordered, so the eldest entry is always the first to expire. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public SubmissionResponseCache(@Value("${app.submission.idempotency.cache-max-entries:10000}") int maxEntries,
+                                   @Value("${app.submission.idempotency.cache-ttl:PT1H}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * @return the cached response, or {@code null} if there is none or it has expired
+     * @throws BadRequestException if the key was used for another lesson
+     */
+    public synchronized LessonSubmitResponse get(UUID userId, UUID lessonId, String idempotencyKey) {
+        Entry entry = entries.get(keyOf(userId, idempotencyKey));
+        if (entry == null || isExpired(entry, System.nanoTime())) {
+            return null;
+        }
+        if (!entry.lessonId().equals(lessonId)) {
+            throw new BadRequestException(EvaluationService.IDEMPOTENCY_KEY_REUSED);
+        }
+        return entry.response();
+    }
+
+    public synchronized void put(UUID userId, UUID lessonId, String idempotencyKey, LessonSubmitResponse response) {
+        long now = System.nanoTime();
+        evictExpired(now);
+
+        entries.remove(keyOf(userId, idempotencyKey));
+        entries.put(keyOf(userId, idempotencyKey), new Entry(lessonId, response, now));
+
+        if (entries.size() > maxEntries) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && isExpired(iterator.next().getValue(), now)) {
+            iterator.remove();
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.storedAt() > ttlNanos;
+    }
+
+    private static String keyOf(UUID userId, String idempotencyKey) {
+        return userId + ":" + idempotencyKey;
+    }
+
+    private record Entry(UUID lessonId, LessonSubmitResponse response, long storedAt) {
+    }
+}
@@ -0,0 +1,332 @@
+package com.languageapp.backend.benchmark;
+
+import com.languageapp.backend.dto.request.ExerciseCheckRequest;
+import com.languageapp.backend.dto.request.LessonSubmitRequest;
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.Progress;
+import com.languageapp.backend.entity.Result;
+import com.languageapp.backend.entity.User;
+import com.languageapp.backend.entity.UserDifficultyState;
+import com.languageapp.backend.repository.AchievementRepository;
+import com.languageapp.backend.repository.LessonAttemptRepository;
+import com.languageapp.backend.repository.LessonRepository;
+import com.languageapp.backend.repository.LessonTopicRepository;
+import com.languageapp.backend.repository.OutboxEventRepository;
+import com.languageapp.backend.repository.ProgressRepository;
+import com.languageapp.backend.repository.ResultRepository;
+import com.languageapp.backend.repository.UserDifficultyStateRepository;
+import com.languageapp.backend.repository.UserRepository;
+import com.languageapp.backend.service.EvaluationService;
+import com.languageapp.backend.service.UserDifficultyCalculator;
+import com.languageapp.backend.service.curriculum.CurriculumSnapshotService;
+import com.languageapp.backend.service.evaluation.AnswerMatcherRegistry;
+import com.languageapp.backend.service.evaluation.ChoiceAnswerMatcher;
+import com.languageapp.backend.service.evaluation.TextNormalizer;
+import com.languageapp.backend.service.evaluation.TypingAnswerMatcher;
+import com.languageapp.backend.service.evaluation.WordBankAnswerMatcher;
+import com.languageapp.backend.service.outbox.OutboxService;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Replays recorded answer checks and lesson submissions through {@link EvaluationService} and reports
+ * throughput, latency percentiles and allocated bytes per operation.
+ * <p>
+ * The service is wired by hand with in-memory stand-ins for every repository, backed by the seed
+ * curriculum, so the numbers only cover the scoring path (normalization, matching, scoring, XP,
+ * difficulty state) and not the database. Records come from a file written by {@link ReplayFileGenerator},
+ * or are generated in memory when no file is given.
+ * <p>
+ * Usage: {@code EvaluationReplayHarness [replay.jsonl] [warmupPasses=5] [measuredPasses=10]}
+ */
+public final class EvaluationReplayHarness {
+
+    private static final int USER_COUNT = 100;
+
+    /** Transaction manager stand-in: the repository stand-ins need no transactions. */
+    private static final PlatformTransactionManager NO_TRANSACTIONS = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    private final SeedCurriculum curriculum;
+    private final List<User> users = new ArrayList<>();
+    private final Map<UUID, User> usersById = new HashMap<>();
+    private final Map<String, Progress> progressByUserAndLesson = new HashMap<>();
+    private final Map<UUID, UserDifficultyState> difficultyStatesByUser = new HashMap<>();
+    private final EvaluationService evaluationService;
+
+    private EvaluationReplayHarness(SeedCurriculum curriculum) {
+        this.curriculum = curriculum;
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User();
+            user.setUserId(UUID.randomUUID());
+            user.setName("Replay user " + i);
+            user.setEmail("replay-" + i + "@bench.local");
+            user.setRole("STUDENT");
+            users.add(user);
+            usersById.put(user.getUserId(), user);
+        }
+        this.evaluationService = wireEvaluationService();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int warmupPasses = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int measuredPasses = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        SeedCurriculum curriculum = SeedCurriculum.load();
+        List<String> lines = args.length > 0
+                ? Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8)
+                : new ReplayFileGenerator(curriculum, 42L).generate(1000);
+
+        EvaluationReplayHarness harness = new EvaluationReplayHarness(curriculum);
+        List<Operation> operations = harness.parse(lines);
+        System.out.printf("Replaying %d operations: %d warmup + %d measured passes%n",
+                operations.size(), warmupPasses, measuredPasses);
+
+        for (int i = 0; i < warmupPasses; i++) {
+            harness.replay(operations, null);
+        }
+
+        Map<String, Stats> stats = new HashMap<>();
+        stats.put("check", new Stats(operations.size() * measuredPasses));
+        stats.put("submit", new Stats(operations.size() * measuredPasses));
+        long start = System.nanoTime();
+        for (int i = 0; i < measuredPasses; i++) {
+            harness.replay(operations, stats);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%nTotal: %d ops in %.1f ms -> %.0f ops/s%n",
+                operations.size() * measuredPasses, elapsed / 1e6, operations.size() * measuredPasses / (elapsed / 1e9));
+        stats.forEach((type, typeStats) -> typeStats.print(type));
+    }
+
+    private List<Operation> parse(List<String> lines) {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        List<Operation> operations = new ArrayList<>(lines.size());
+        int submits = 0;
+
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode record = jsonMapper.readTree(line);
+            String op = record.path("op").asString();
+            if ("check".equals(op)) {
+                ExerciseCheckRequest request = jsonMapper.treeToValue(record.path("request"), ExerciseCheckRequest.class);
+                operations.add(new Operation(op, UUID.fromString(record.path("exerciseId").asString()), null, request));
+            } else if ("submit".equals(op)) {
+                LessonSubmitRequest request = jsonMapper.treeToValue(record.path("request"), LessonSubmitRequest.class);
+                User user = users.get(submits++ % users.size());
+                operations.add(new Operation(op, UUID.fromString(record.path("lessonId").asString()), user, request));
+            } else {
+                throw new IllegalArgumentException("Unknown replay operation: " + op);
+            }
+        }
+        return operations;
+    }
+
+    private void replay(List<Operation> operations, Map<String, Stats> stats) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (Operation operation : operations) {
+            long allocatedBefore = stats != null ? threads.getCurrentThreadAllocatedBytes() : 0L;
+            long start = System.nanoTime();
+
+            Object response = "check".equals(operation.type())
+                    ? evaluationService.checkSingleExercise(operation.targetId(), ((ExerciseCheckRequest) operation.request()).getAnswer())
+                    : evaluationService.evaluateLesson(operation.user().getUserId(), operation.targetId(), (LessonSubmitRequest) operation.request());
+
+            long latency = System.nanoTime() - start;
+            if (stats != null) {
+                stats.get(operation.type()).record(latency, threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            }
+            if (response == null) {
+                throw new IllegalStateException("No response for " + operation.type());
+            }
+        }
+    }
+
+    // --- IN-MEMORY WIRING ---
+
+    private EvaluationService wireEvaluationService() {
+        ResultRepository resultRepository = repository(ResultRepository.class, Map.of(
+                "save", args -> saveResult((Result) args[0]),
+                "findByUserUserIdAndIdempotencyKey", args -> Optional.empty()));
+        UserDifficultyStateRepository userDifficultyStateRepository = repository(UserDifficultyStateRepository.class, Map.of(
+                "save", args -> saveDifficultyState((UserDifficultyState) args[0]),
+                "findById", args -> Optional.ofNullable(difficultyStatesByUser.get((UUID) args[0]))));
+
+        LessonRepository lessonRepository = repository(LessonRepository.class, Map.of(
+                "findSubmissionRows", args -> submissionRows((UUID) args[0], (UUID) args[1]),
+                "findAllWithTopicAndExercises", args -> curriculum.lessons()));
+        LessonTopicRepository topicRepository = repository(LessonTopicRepository.class, Map.of(
+                "findAll", args -> curriculum.lessons().stream().map(Lesson::getTopic).distinct().toList()));
+
+        ProgressRepository progressRepository = repository(ProgressRepository.class, Map.of(
+                "save", args -> args[0]));
+        OutboxEventRepository outboxEventRepository = repository(OutboxEventRepository.class, Map.of(
+                "save", args -> args[0]));
+
+        TextNormalizer textNormalizer = new TextNormalizer(Set.of("en"));
+        TypingAnswerMatcher typingMatcher = new TypingAnswerMatcher();
+        AnswerMatcherRegistry registry = new AnswerMatcherRegistry(
+                List.of(new ChoiceAnswerMatcher(), typingMatcher, new WordBankAnswerMatcher()), typingMatcher);
+
+        CurriculumSnapshotService curriculumSnapshotService =
+                new CurriculumSnapshotService(topicRepository, lessonRepository, textNormalizer, registry,
+                        JsonMapper.builder().build(), NO_TRANSACTIONS);
+        curriculumSnapshotService.rebuild();
+
+        return new EvaluationService(
+                lessonRepository,
+                resultRepository,
+                progressRepository,
+                repository(UserRepository.class, Map.of("lockForSubmission", args -> Optional.of(1))),
+                new UserDifficultyCalculator(userDifficultyStateRepository, repository(UserRepository.class, Map.of())),
+                repository(AchievementRepository.class, Map.of()),
+                new OutboxService(outboxEventRepository),
+                curriculumSnapshotService,
+                repository(LessonAttemptRepository.class, Map.of()),
+                textNormalizer,
+                event -> {
+                });
+    }
+
+    private Result saveResult(Result result) {
+        if (result.getResultId() == null) {
+            result.setResultId(UUID.randomUUID());
+        }
+        return result;
+    }
+
+    private UserDifficultyState saveDifficultyState(UserDifficultyState state) {
+        state.setUserId(state.getUser().getUserId());
+        state.setVersion(0L);
+        difficultyStatesByUser.put(state.getUserId(), state);
+        return state;
+    }
+
+    /**
+     * Every (user, lesson) pair counts as already started, so the replay is never rejected by the
+     * adaptive difficulty access check, but XP is still only awarded on the first passing submit.
+     */
+    private List<Object[]> submissionRows(UUID userId, UUID lessonId) {
+        Lesson lesson = curriculum.lesson(lessonId);
+        User user = usersById.get(userId);
+
+        Progress progress = progressByUserAndLesson.computeIfAbsent(userId + ":" + lessonId, key -> {
+            Progress started = new Progress();
+            started.setUser(user);
+            started.setLesson(lesson);
+            started.setHighestScore(0);
+            started.setIsCompleted(false);
+            started.setLastAttemptAt(LocalDateTime.now());
+            return started;
+        });
+        List<Object[]> rows = new ArrayList<>(1);
+        rows.add(new Object[]{lesson, user, progress, difficultyStatesByUser.get(userId), null});
+        return rows;
+    }
+
+    /**
+     * Creates a repository stand-in answering the given methods by name. Default interface methods
+     * run their real implementation on top of the stand-in; anything else fails loudly so the harness
+     * never silently measures a no-op.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stand-in";
+                };
+            }
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation != null) {
+                return implementation.apply(args);
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not replayable");
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private record Operation(String type, UUID targetId, User user, Object request) {
+    }
+
+    /**
+     * Latency and allocation samples of one operation type.
+     */
+    private static final class Stats {
+
+        private final long[] latencies;
+        private int count;
+        private long totalLatency;
+        private long allocatedBytes;
+
+        Stats(int capacity) {
+            this.latencies = new long[capacity];
+        }
+
+        void record(long latency, long allocated) {
+            latencies[count++] = latency;
+            totalLatency += latency;
+            allocatedBytes += allocated;
+        }
+
+        void print(String type) {
+            if (count == 0) {
+                return;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-7s %8d ops  %10.0f ops/s  p50 %7.1f us  p90 %7.1f us  p99 %7.1f us  p99.9 %7.1f us  max %8.1f us  %8.0f B/op%n",
+                    type, count, count / (totalLatency / 1e9),
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted[count - 1] / 1e3, (double) allocatedBytes / count);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e3;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.languageapp.backend.benchmark;
+
+import com.languageapp.backend.entity.Exercise;
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.content.AnswerKey;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthesizes a replay file for {@link EvaluationReplayHarness} from the seed curriculum.
+ * <p>
+ * Every simulated session picks a lesson, answers each exercise once through the check endpoint
+ * (correct, sloppy casing/punctuation, typos, reordered word banks, wrong options or blanks),
+ * retries some of the wrong ones and finally submits the lesson. One JSON record per line:
+ * <pre>
+ * {"op":"check","exerciseId":"...","request":{"answer":"..."}}
+ * {"op":"submit","lessonId":"...","request":{"timeTakenSeconds":42,"answers":[...]}}
+ * </pre>
+ * Usage: {@code ReplayFileGenerator <output.jsonl> [sessions=1000] [randomSeed=42]}
+ */
+public final class ReplayFileGenerator {
+
+    private final SeedCurriculum curriculum;
+    private final Random random;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    ReplayFileGenerator(SeedCurriculum curriculum, long randomSeed) {
+        this.curriculum = curriculum;
+        this.random = new Random(randomSeed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayFileGenerator <output.jsonl> [sessions=1000] [randomSeed=42]");
+            System.exit(1);
+        }
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long randomSeed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        List<String> lines = new ReplayFileGenerator(SeedCurriculum.load(), randomSeed).generate(sessions);
+        try (Writer writer = Files.newBufferedWriter(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        System.out.printf("Wrote %d records (%d sessions) to %s%n", lines.size(), sessions, args[0]);
+    }
+
+    /**
+     * @param sessions the number of simulated lesson sessions
+     * @return the replay records, one JSON document per element
+     */
+    List<String> generate(int sessions) {
+        List<String> lines = new ArrayList<>();
+        List<Lesson> lessons = curriculum.lessons();
+
+        for (int s = 0; s < sessions; s++) {
+            Lesson lesson = lessons.get(random.nextInt(lessons.size()));
+            List<Map<String, Object>> answers = new ArrayList<>();
+
+            for (Exercise exercise : lesson.getExercises()) {
+                String first = synthesizeAnswer(exercise);
+                lines.add(check(exercise, first));
+                answers.add(submission(exercise, first, false));
+
+                boolean wrong = !first.equals(expectedAnswer(exercise));
+                if (wrong && random.nextInt(100) < 70) {
+                    String retry = random.nextBoolean() ? expectedAnswer(exercise) : synthesizeAnswer(exercise);
+                    lines.add(check(exercise, retry));
+                    answers.add(submission(exercise, retry, true));
+                }
+            }
+
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("timeTakenSeconds", 30 + random.nextInt(300));
+            request.put("answers", answers);
+            lines.add(record("submit", "lessonId", lesson.getLessonId(), request));
+        }
+        return lines;
+    }
+
+    private String synthesizeAnswer(Exercise exercise) {
+        String expected = expectedAnswer(exercise);
+        int roll = random.nextInt(100);
+
+        return switch (exercise.getType()) {
+            case "IMAGE_CHOICE", "MULTIPLE_CHOICE" -> {
+                List<String> options = options(exercise);
+                if (roll < 75 || options.isEmpty()) {
+                    yield expected;
+                }
+                yield roll < 95 ? options.get(random.nextInt(options.size())) : "";
+            }
+            case "WORD_BANK" -> {
+                if (roll < 55) {
+                    yield expected;
+                }
+                if (roll < 80) {
+                    yield reorder(expected);
+                }
+                if (roll < 90) {
+                    yield expected + " " + distractor(exercise);
+                }
+                yield "";
+            }
+            default -> {
+                if (roll < 50) {
+                    yield expected;
+                }
+                if (roll < 60) {
+                    yield sloppy(expected);
+                }
+                if (roll < 80) {
+                    yield typo(expected);
+                }
+                if (roll < 90) {
+                    yield "";
+                }
+                yield reorder(expected);
+            }
+        };
+    }
+
+    /** Mixed case, doubled spaces and a missing or extra punctuation mark. */
+    private String sloppy(String answer) {
+        String lower = random.nextBoolean() ? answer.toLowerCase(Locale.ROOT) : answer.toUpperCase(Locale.ROOT);
+        String spaced = lower.replace(" ", random.nextBoolean() ? "  " : " ");
+        return random.nextBoolean() ? spaced + "!" : spaced.replace(".", "");
+    }
+
+    /** One or two random substitutions, deletions or adjacent transpositions. */
+    private String typo(String answer) {
+        StringBuilder typed = new StringBuilder(answer);
+        int edits = 1 + random.nextInt(2);
+        for (int i = 0; i < edits && typed.length() > 1; i++) {
+            int at = random.nextInt(typed.length() - 1);
+            switch (random.nextInt(3)) {
+                case 0 -> typed.setCharAt(at, (char) ('a' + random.nextInt(26)));
+                case 1 -> typed.deleteCharAt(at);
+                default -> {
+                    char c = typed.charAt(at);
+                    typed.setCharAt(at, typed.charAt(at + 1));
+                    typed.setCharAt(at + 1, c);
+                }
+            }
+        }
+        return typed.toString();
+    }
+
+    /** Swaps two adjacent words. */
+    private String reorder(String answer) {
+        List<String> words = new ArrayList<>(Arrays.asList(answer.split(" ")));
+        if (words.size() < 2) {
+            return answer;
+        }
+        int at = random.nextInt(words.size() - 1);
+        String word = words.get(at);
+        words.set(at, words.get(at + 1));
+        words.set(at + 1, word);
+        return String.join(" ", words);
+    }
+
+    private String distractor(Exercise exercise) {
+        List<String> options = options(exercise);
+        return options.isEmpty() ? "the" : options.get(random.nextInt(options.size()));
+    }
+
+    private String check(Exercise exercise, String answer) {
+        return record("check", "exerciseId", exercise.getExerciseId(), Map.of("answer", answer));
+    }
+
+    private static Map<String, Object> submission(Exercise exercise, String answer, boolean retry) {
+        Map<String, Object> submission = new LinkedHashMap<>();
+        submission.put("exerciseId", exercise.getExerciseId());
+        submission.put("answer", answer);
+        submission.put("isRetry", retry);
+        return submission;
+    }
+
+    private String record(String op, String idField, Object id, Object request) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("op", op);
+        record.put(idField, id);
+        record.put("request", request);
+        return jsonMapper.writeValueAsString(record);
+    }
+
+    private static String expectedAnswer(Exercise exercise) {
+        AnswerKey key = exercise.getCorrectAnswer();
+        return key != null && key.answer() != null ? key.answer() : "";
+    }
+
+    private static List<String> options(Exercise exercise) {
+        return exercise.getContent() != null ? exercise.getContent().options() : List.of();
+    }
+}
@@ -0,0 +1,105 @@
+package com.languageapp.backend.benchmark;
+
+import com.languageapp.backend.dto.request.ExerciseImportRequest;
+import com.languageapp.backend.dto.request.LessonImportRequest;
+import com.languageapp.backend.dto.request.TopicImportRequest;
+import com.languageapp.backend.entity.Exercise;
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.LessonTopic;
+import com.languageapp.backend.entity.content.AnswerKey;
+import com.languageapp.backend.entity.content.ExerciseContent;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The seed curriculum ({@code data/curriculum-seed.json}) as detached entities.
+ * <p>
+ * IDs are derived from the position of each topic, lesson and exercise in the seed file, so the
+ * replay file generator and the replay harness agree on them without a database.
+ */
+final class SeedCurriculum {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private static final String SEED_FILE = "/data/curriculum-seed.json";
+
+    private final List<Lesson> lessons = new ArrayList<>();
+    private final Map<UUID, Lesson> lessonsById = new LinkedHashMap<>();
+
+    private SeedCurriculum() {
+    }
+
+    static SeedCurriculum load() throws IOException {
+        List<TopicImportRequest> topics;
+        try (InputStream in = SeedCurriculum.class.getResourceAsStream(SEED_FILE)) {
+            topics = MAPPER.readValue(in, new TypeReference<List<TopicImportRequest>>() {});
+        }
+
+        SeedCurriculum curriculum = new SeedCurriculum();
+        for (int t = 0; t < topics.size(); t++) {
+            TopicImportRequest topicReq = topics.get(t);
+            LessonTopic topic = new LessonTopic();
+            topic.setTopicId(idOf("topic", t));
+            topic.setName(topicReq.getTopicName());
+            topic.setDescription(topicReq.getDescription());
+
+            for (int l = 0; l < topicReq.getLessons().size(); l++) {
+                LessonImportRequest lessonReq = topicReq.getLessons().get(l);
+                Lesson lesson = new Lesson();
+                lesson.setLessonId(idOf("lesson", t, l));
+                lesson.setTopic(topic);
+                lesson.setTitle(lessonReq.getTitle());
+                lesson.setDifficulty(lessonReq.getDifficulty());
+                lesson.setLanguage(lessonReq.getLanguage());
+                topic.getLessons().add(lesson);
+
+                for (int e = 0; e < lessonReq.getExercises().size(); e++) {
+                    ExerciseImportRequest exerciseReq = lessonReq.getExercises().get(e);
+                    Exercise exercise = new Exercise();
+                    exercise.setExerciseId(idOf("exercise", t, l, e));
+                    exercise.setLesson(lesson);
+                    exercise.setType(exerciseReq.getType());
+                    exercise.setContent(contentOf(exerciseReq));
+                    exercise.setCorrectAnswer(MAPPER.convertValue(exerciseReq.getCorrectAnswer(), AnswerKey.class));
+                    lesson.getExercises().add(exercise);
+                }
+
+                curriculum.lessons.add(lesson);
+                curriculum.lessonsById.put(lesson.getLessonId(), lesson);
+            }
+        }
+        return curriculum;
+    }
+
+    List<Lesson> lessons() {
+        return lessons;
+    }
+
+    Lesson lesson(UUID lessonId) {
+        return lessonsById.get(lessonId);
+    }
+
+    private static UUID idOf(String kind, int... path) {
+        StringBuilder name = new StringBuilder("seed:").append(kind);
+        for (int index : path) {
+            name.append(':').append(index);
+        }
+        return UUID.nameUUIDFromBytes(name.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Reads the content map the way the curriculum import does: typed by the exercise type. */
+    private static ExerciseContent contentOf(ExerciseImportRequest exerciseReq) {
+        Map<String, Object> content = new LinkedHashMap<>(exerciseReq.getContent());
+        content.put(ExerciseContent.KIND, exerciseReq.getType());
+        return MAPPER.convertValue(content, ExerciseContent.class);
+    }
+}
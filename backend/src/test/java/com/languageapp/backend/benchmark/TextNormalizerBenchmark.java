@@ -0,0 +1,105 @@
+package com.languageapp.backend.benchmark;
+
+import com.languageapp.backend.service.evaluation.TextNormalizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the single-pass {@link TextNormalizer} with the former
+ * regex-based {@code EvaluationService.normalizeText} implementation.
+ * <p>
+ * The input set is every expected answer of the seed curriculum, plus a "typed by a student"
+ * variant of each one (mixed case, doubled spaces, trailing punctuation).
+ * Run it from the IDE or with {@code mvn test-compile} followed by executing {@link #main(String[])}
+ * on the test classpath; add {@code -prof gc} to the options to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextNormalizerBenchmark {
+
+    private static final String SEED_FILE = "/data/curriculum-seed.json";
+
+    private TextNormalizer textNormalizer;
+    private List<String> answers;
+    private List<String> languages;
+
+    @Setup
+    public void setUp() throws IOException {
+        textNormalizer = new TextNormalizer(Set.of("en"));
+        answers = new ArrayList<>();
+        languages = new ArrayList<>();
+
+        try (InputStream in = TextNormalizerBenchmark.class.getResourceAsStream(SEED_FILE)) {
+            JsonNode topics = JsonMapper.builder().build().readTree(in);
+            for (JsonNode topic : topics) {
+                for (JsonNode lesson : topic.path("lessons")) {
+                    String language = lesson.path("language").asString(null);
+                    for (JsonNode exercise : lesson.path("exercises")) {
+                        String answer = exercise.path("correctAnswer").path("answer").asString(null);
+                        if (answer != null) {
+                            addAnswer(answer, language);
+                            addAnswer("  " + answer.toUpperCase().replace(" ", "  ") + " !", language);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void addAnswer(String answer, String language) {
+        answers.add(answer);
+        languages.add(language);
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String answer : answers) {
+            blackhole.consume(legacyNormalize(answer));
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (int i = 0; i < answers.size(); i++) {
+            blackhole.consume(textNormalizer.normalize(answers.get(i), languages.get(i)));
+        }
+    }
+
+    /**
+     * Verbatim copy of the previous implementation, kept here as the benchmark baseline.
+     */
+    private static String legacyNormalize(String input) {
+        if (input == null || input.isBlank() || "null".equals(input)) {
+            return "";
+        }
+        return input
+                .replaceAll("\\p{Punct}", "")
+                .toLowerCase()
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TextNormalizerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,58 @@
+package com.languageapp.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The admin endpoints are only reachable with the ADMIN role; every other authenticated user is rejected
+ * before the controller runs.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.worker.enabled=false",
+        "app.rating.flush-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class AdminControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void studentsCannotStartOrWatchTheDifficultyRecompute() throws Exception {
+        mockMvc.perform(post("/api/admin/difficulty/recompute").with(user("student").authorities(() -> "STUDENT")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/difficulty/recompute").with(user("student").authorities(() -> "STUDENT")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void teachersCannotImportCurricula() throws Exception {
+        mockMvc.perform(post("/api/admin/curriculum/import").with(user("teacher").authorities(() -> "TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void studentsCannotUploadMedia() throws Exception {
+        mockMvc.perform(post("/api/admin/media").with(user("student").authorities(() -> "STUDENT"))
+                        .contentType(MediaType.IMAGE_PNG)
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminsReachTheAdminEndpoints() throws Exception {
+        mockMvc.perform(get("/api/admin/difficulty/recompute").with(user("admin").authorities(() -> "ADMIN")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,165 @@
+package com.languageapp.backend.service;
+
+import com.languageapp.backend.dto.request.ExerciseSubmission;
+import com.languageapp.backend.dto.request.LessonSubmitRequest;
+import com.languageapp.backend.dto.response.LessonSubmitResponse;
+import com.languageapp.backend.entity.Exercise;
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.LessonTopic;
+import com.languageapp.backend.entity.User;
+import com.languageapp.backend.entity.content.AnswerKey;
+import com.languageapp.backend.entity.content.TranslationContent;
+import com.languageapp.backend.repository.LessonTopicRepository;
+import com.languageapp.backend.repository.OutboxEventRepository;
+import com.languageapp.backend.repository.ProgressRepository;
+import com.languageapp.backend.repository.ResultRepository;
+import com.languageapp.backend.repository.UserDifficultyStateRepository;
+import com.languageapp.backend.repository.UserRepository;
+import com.languageapp.backend.service.curriculum.CurriculumSnapshotService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the fetch plan of the lesson submission: the number of SQL statements per submission
+ * must not grow with the lesson size, and a regression (an extra lazy load, an early flush)
+ * fails the build.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Statistics are global, background writers must not add their statements to the count
+        "app.outbox.worker.enabled=false",
+        "app.rating.flush-interval-ms=3600000"
+})
+class LessonSubmissionStatementCountTest {
+
+    private static final int EXERCISE_COUNT = 5;
+
+    @Autowired
+    private EvaluationService evaluationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LessonTopicRepository topicRepository;
+    @Autowired
+    private ResultRepository resultRepository;
+    @Autowired
+    private ProgressRepository progressRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private UserDifficultyStateRepository userDifficultyStateRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CurriculumSnapshotService curriculumSnapshotService;
+
+    private User user;
+    private LessonTopic topic;
+    private Lesson lesson;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Statement Counter");
+        user.setEmail("statement-count-" + UUID.randomUUID() + "@test.local");
+        user.setPasswordHash("not-a-real-hash");
+        user.setRole("STUDENT");
+        user = userRepository.save(user);
+
+        topic = new LessonTopic();
+        topic.setName("Statement count topic");
+
+        lesson = new Lesson();
+        lesson.setTopic(topic);
+        lesson.setTitle("Statement count lesson");
+        lesson.setDifficulty("MEDIUM");
+        lesson.setLanguage("en");
+        topic.getLessons().add(lesson);
+
+        for (int i = 0; i < EXERCISE_COUNT; i++) {
+            Exercise exercise = new Exercise();
+            exercise.setLesson(lesson);
+            exercise.setType("TRANSLATION");
+            exercise.setContent(new TranslationContent("Question " + i, null));
+            exercise.setCorrectAnswer(AnswerKey.of("Answer " + i));
+            lesson.getExercises().add(exercise);
+        }
+
+        topic = topicRepository.save(topic);
+        lesson = topic.getLessons().getFirst();
+        // As after an import: the submission grades the lesson from the snapshot
+        curriculumSnapshotService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll(outboxEventRepository.findAll().stream()
+                .filter(event -> user.getUserId().toString().equals(event.getPayload().get("userId")))
+                .toList());
+        resultRepository.deleteAll(resultRepository.findByUserUserId(user.getUserId()));
+        progressRepository.deleteAll(progressRepository.findByUserUserId(user.getUserId()));
+        userDifficultyStateRepository.deleteById(user.getUserId());
+        topicRepository.deleteById(topic.getTopicId());
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    void firstSubmissionUsesAFixedNumberOfStatements() {
+        Statistics statistics = statistics();
+
+        LessonSubmitResponse response = evaluationService.evaluateLesson(user.getUserId(), lesson.getLessonId(), allCorrectRequest());
+
+        assertThat(response.getTotalQuestionsCount()).isEqualTo(EXERCISE_COUNT);
+        assertThat(response.getScore()).isEqualTo(100);
+        // SELECT user FOR NO KEY UPDATE, SELECT submission context (incl. difficulty state),
+        // INSERT result, INSERT progress, INSERT outbox event, INSERT difficulty state, UPDATE user (XP)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+        // The exercises are graded from the snapshot and never enter the persistence context
+        assertThat(statistics.getEntityStatistics(Exercise.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void repeatedSubmissionUsesAFixedNumberOfStatements() {
+        evaluationService.evaluateLesson(user.getUserId(), lesson.getLessonId(), allCorrectRequest());
+        Statistics statistics = statistics();
+
+        evaluationService.evaluateLesson(user.getUserId(), lesson.getLessonId(), allCorrectRequest());
+
+        // SELECT user FOR NO KEY UPDATE, SELECT submission context (incl. difficulty state),
+        // INSERT result, INSERT outbox event, UPDATE progress, UPDATE difficulty state (no XP for an already completed lesson)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private LessonSubmitRequest allCorrectRequest() {
+        List<ExerciseSubmission> answers = new ArrayList<>();
+        for (int i = 0; i < EXERCISE_COUNT; i++) {
+            ExerciseSubmission submission = new ExerciseSubmission();
+            submission.setExerciseId(lesson.getExercises().get(i).getExerciseId());
+            submission.setAnswer("Answer " + i);
+            answers.add(submission);
+        }
+
+        LessonSubmitRequest request = new LessonSubmitRequest();
+        request.setTimeTakenSeconds(42);
+        request.setAnswers(answers);
+        return request;
+    }
+}
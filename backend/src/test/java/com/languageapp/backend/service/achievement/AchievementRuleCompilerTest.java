@@ -0,0 +1,142 @@
+package com.languageapp.backend.service.achievement;
+
+import com.languageapp.backend.entity.Achievement;
+import com.languageapp.backend.service.achievement.AchievementRules.CompiledAchievement;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compilation of achievement criteria, the outcome and triggers of the compiled rules, and the trigger index.
+ */
+class AchievementRuleCompilerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 12, 15, 12, 0);
+
+    @Test
+    void compilesLessonCountRules() {
+        AchievementRule first = AchievementRuleCompiler.compile(Map.of("type", "FIRST_LESSON"));
+        AchievementRule ten = AchievementRuleCompiler.compile(Map.of("type", "LESSON_COUNT", "target", 10));
+
+        assertThat(first).isEqualTo(new AchievementRule.LessonCount(1));
+        assertThat(ten.test(stats(10, 0, 0))).isTrue();
+        assertThat(ten.test(stats(9, 0, 0))).isFalse();
+        assertThat(ten.triggers()).containsExactly(AchievementTrigger.LESSON_COMPLETED);
+    }
+
+    @Test
+    void compilesXpMilestonesWithNumericOrTextualTargets() {
+        AchievementRule rule = AchievementRuleCompiler.compile(Map.of("type", "XP_MILESTONE", "target", "500"));
+
+        assertThat(rule).isEqualTo(new AchievementRule.XpMilestone(500));
+        assertThat(rule.test(stats(0, 500, 0))).isTrue();
+        assertThat(rule.test(stats(0, 499, 0))).isFalse();
+        assertThat(rule.triggers()).containsExactly(AchievementTrigger.XP_CHANGED);
+    }
+
+    @Test
+    void compilesPerfectScore() {
+        AchievementRule rule = AchievementRuleCompiler.compile(Map.of("type", "PERFECT_SCORE"));
+
+        assertThat(rule.test(stats(0, 0, 100))).isTrue();
+        assertThat(rule.test(stats(0, 0, 99))).isFalse();
+        assertThat(rule.triggers()).containsExactly(AchievementTrigger.PERFECT_SCORE);
+    }
+
+    @Test
+    void compilesCompositesWithTheUnionOfTheirTriggers() {
+        List<Map<String, Object>> rules = List.of(
+                Map.of("type", "LESSON_COUNT", "target", 5),
+                Map.of("type", "PERFECT_SCORE"));
+        AchievementRule all = AchievementRuleCompiler.compile(Map.of("type", "ALL", "rules", rules));
+        AchievementRule any = AchievementRuleCompiler.compile(Map.of("type", "ANY", "rules", rules));
+
+        assertThat(all.test(stats(5, 0, 100))).isTrue();
+        assertThat(all.test(stats(5, 0, 90))).isFalse();
+        assertThat(any.test(stats(5, 0, 90))).isTrue();
+        assertThat(any.test(stats(4, 0, 90))).isFalse();
+        assertThat(all.triggers()).isEqualTo(EnumSet.of(AchievementTrigger.LESSON_COMPLETED, AchievementTrigger.PERFECT_SCORE));
+    }
+
+    @Test
+    void compilesTimeWindowsWithOptionalBounds() {
+        AchievementRule december = AchievementRuleCompiler.compile(Map.of("type", "WITHIN",
+                "from", "2026-12-01T00:00", "until", "2027-01-01T00:00", "rule", Map.of("type", "FIRST_LESSON")));
+        AchievementRule untilDecember = AchievementRuleCompiler.compile(Map.of("type", "WITHIN",
+                "until", "2026-12-01T00:00", "rule", Map.of("type", "FIRST_LESSON")));
+
+        assertThat(december.test(stats(1, 0, 0))).isTrue();
+        assertThat(december.test(stats(0, 0, 0))).isFalse();
+        assertThat(december.test(new AchievementStats(1, 0, 0, 0, LocalDateTime.of(2027, 1, 1, 0, 0)))).isFalse();
+        assertThat(december.test(new AchievementStats(1, 0, 0, 0, LocalDateTime.of(2026, 12, 1, 0, 0)))).isTrue();
+        assertThat(untilDecember.test(stats(1, 0, 0))).isFalse();
+        assertThat(december.triggers()).containsExactly(AchievementTrigger.LESSON_COMPLETED);
+    }
+
+    @Test
+    void rejectsMalformedCriteria() {
+        Map<String, Object> withoutTarget = new HashMap<>();
+        withoutTarget.put("type", "XP_MILESTONE");
+
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(Map.of("target", 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(Map.of("type", "STREAK")))
+                .hasMessageContaining("unknown criteria type");
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(withoutTarget))
+                .hasMessageContaining("target must be a number");
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(Map.of("type", "LESSON_COUNT", "target", "ten")))
+                .hasMessageContaining("target must be a number");
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(Map.of("type", "ALL", "rules", List.of())))
+                .hasMessageContaining("non-empty array");
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(Map.of("type", "ANY", "rules", List.of("FIRST_LESSON"))))
+                .hasMessageContaining("must be an object");
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(Map.of("type", "WITHIN", "from", "December",
+                "rule", Map.of("type", "FIRST_LESSON"))))
+                .hasMessageContaining("ISO date-time");
+        assertThatThrownBy(() -> AchievementRuleCompiler.compile(Map.of("type", "WITHIN", "from", "2026-12-01T00:00")))
+                .hasMessageContaining("must be an object");
+    }
+
+    @Test
+    void indexesAchievementsByTriggerAndSkipsInvalidCriteria() {
+        Achievement first = achievement("First", Map.of("type", "FIRST_LESSON"));
+        Achievement perfectTen = achievement("Perfect ten", Map.of("type", "ALL", "rules", List.of(
+                Map.of("type", "LESSON_COUNT", "target", 10), Map.of("type", "PERFECT_SCORE"))));
+        Achievement rich = achievement("Rich", Map.of("type", "XP_MILESTONE", "target", 1000));
+        Achievement broken = achievement("Broken", Map.of("type", "STREAK"));
+
+        AchievementRules rules = AchievementRules.compile(List.of(first, perfectTen, rich, broken));
+
+        assertThat(names(rules, EnumSet.of(AchievementTrigger.LESSON_COMPLETED))).containsExactly("First", "Perfect ten");
+        assertThat(names(rules, EnumSet.of(AchievementTrigger.PERFECT_SCORE))).containsExactly("Perfect ten");
+        // Listed once, even though it is indexed under both triggers
+        assertThat(names(rules, EnumSet.allOf(AchievementTrigger.class))).containsExactly("First", "Perfect ten", "Rich");
+        assertThat(rules.triggeredBy(EnumSet.noneOf(AchievementTrigger.class))).isEmpty();
+    }
+
+    private static AchievementStats stats(long completedLessons, int xp, int lastScore) {
+        return new AchievementStats(completedLessons, xp, 0, lastScore, NOW);
+    }
+
+    private static Achievement achievement(String name, Map<String, Object> criteria) {
+        Achievement achievement = new Achievement();
+        achievement.setAchievementId(UUID.randomUUID());
+        achievement.setName(name);
+        achievement.setCriteria(criteria);
+        return achievement;
+    }
+
+    private static List<String> names(AchievementRules rules, Set<AchievementTrigger> triggers) {
+        return rules.triggeredBy(triggers).stream().map(CompiledAchievement::name).toList();
+    }
+}
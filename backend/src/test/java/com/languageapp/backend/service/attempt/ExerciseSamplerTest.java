@@ -0,0 +1,47 @@
+package com.languageapp.backend.service.attempt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExerciseSamplerTest {
+
+    @Test
+    void drawsTheSamePositionsForTheSameSeed() {
+        assertThat(ExerciseSampler.sample(200, 10, 42L)).isEqualTo(ExerciseSampler.sample(200, 10, 42L));
+        assertThat(ExerciseSampler.sample(200, 10, 42L)).isNotEqualTo(ExerciseSampler.sample(200, 10, 43L));
+    }
+
+    @Test
+    void drawsDistinctSortedPositionsInsideTheBank() {
+        for (long seed = 0; seed < 1_000; seed++) {
+            int[] positions = ExerciseSampler.sample(30, 12, seed);
+
+            assertThat(positions).hasSize(12).isSorted().doesNotHaveDuplicates();
+            assertThat(Arrays.stream(positions).allMatch(position -> position >= 0 && position < 30)).isTrue();
+        }
+    }
+
+    @Test
+    void reachesEveryPositionOfTheBank() {
+        boolean[] drawn = new boolean[20];
+        for (long seed = 0; seed < 500; seed++) {
+            for (int position : ExerciseSampler.sample(20, 3, seed)) {
+                drawn[position] = true;
+            }
+        }
+
+        for (int position = 0; position < drawn.length; position++) {
+            assertThat(drawn[position]).as("position %d drawn", position).isTrue();
+        }
+    }
+
+    @Test
+    void servesTheWholeBankWhenAskedForAtLeastItsSize() {
+        assertThat(ExerciseSampler.sample(5, 5, 7L)).containsExactly(0, 1, 2, 3, 4);
+        assertThat(ExerciseSampler.sample(5, 8, 7L)).containsExactly(0, 1, 2, 3, 4);
+        assertThat(ExerciseSampler.sample(0, 3, 7L)).isEmpty();
+    }
+}
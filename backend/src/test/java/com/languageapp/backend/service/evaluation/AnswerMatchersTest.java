@@ -0,0 +1,159 @@
+package com.languageapp.backend.service.evaluation;
+
+import com.languageapp.backend.entity.Exercise;
+import com.languageapp.backend.entity.Lesson;
+import com.languageapp.backend.entity.content.AnswerKey;
+import com.languageapp.backend.entity.content.ExerciseContent;
+import com.languageapp.backend.entity.content.MultipleChoiceContent;
+import com.languageapp.backend.entity.content.TranslationContent;
+import com.languageapp.backend.entity.content.WordBankContent;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verdicts of the answer matchers on compiled exercises, and the type resolution of the registry.
+ */
+class AnswerMatchersTest {
+
+    private final TextNormalizer normalizer = new TextNormalizer(Set.of("en"));
+    private final TypingAnswerMatcher typingMatcher = new TypingAnswerMatcher();
+    private final AnswerMatcherRegistry registry = new AnswerMatcherRegistry(
+            List.of(new ChoiceAnswerMatcher(), typingMatcher, new WordBankAnswerMatcher()), typingMatcher);
+
+    @Nested
+    class Choice {
+
+        private final CompiledExercise exercise = compile("MULTIPLE_CHOICE",
+                new MultipleChoiceContent("What color is the apple?", List.of("Yellow", "Red", "Green")),
+                AnswerKey.of("Red"));
+
+        @Test
+        void acceptsTheExpectedOptionOnly() {
+            assertThat(check(exercise, "red!")).isEqualTo(AnswerVerdict.CORRECT);
+            assertThat(check(exercise, "Green")).isEqualTo(AnswerVerdict.INCORRECT);
+        }
+
+        @Test
+        void neverReportsASimilarLookingOptionAsATypo() {
+            assertThat(check(exercise, "Reed")).isEqualTo(AnswerVerdict.INCORRECT);
+        }
+
+        @Test
+        void fallsBackToTheAcceptedVariantsWhenTheKeyIsNotAnOption() {
+            CompiledExercise offList = compile("IMAGE_CHOICE",
+                    new MultipleChoiceContent("Which one is a fruit?", List.of("Car", "House")),
+                    new AnswerKey("Apple", List.of("An apple"), List.of()));
+
+            assertThat(check(offList, "an apple")).isEqualTo(AnswerVerdict.CORRECT);
+            assertThat(check(offList, "Car")).isEqualTo(AnswerVerdict.INCORRECT);
+        }
+    }
+
+    @Nested
+    class Typing {
+
+        private final CompiledExercise exercise = compile("TRANSLATION",
+                new TranslationContent("Az alma piros.", null),
+                new AnswerKey("The apple is red.", List.of("The apple's red"), List.of("(the )?apples? (is|are) red")));
+
+        @Test
+        void acceptsTheAnswerItsAlternativesAndPatterns() {
+            assertThat(check(exercise, "the apple is red")).isEqualTo(AnswerVerdict.CORRECT);
+            assertThat(check(exercise, "The apple's red!")).isEqualTo(AnswerVerdict.CORRECT);
+            assertThat(check(exercise, "Apples are red")).isEqualTo(AnswerVerdict.CORRECT);
+        }
+
+        @Test
+        void reportsAtMostTwoEditsAsATypo() {
+            assertThat(check(exercise, "The aplpe is red")).isEqualTo(AnswerVerdict.ALMOST_CORRECT_TYPO);
+            assertThat(check(exercise, "The aple iz red")).isEqualTo(AnswerVerdict.ALMOST_CORRECT_TYPO);
+            assertThat(check(exercise, "The ale iz rd")).isEqualTo(AnswerVerdict.INCORRECT);
+        }
+
+        @Test
+        void neverReportsTyposOfShortAnswers() {
+            CompiledExercise shortAnswer = compile("TYPING", new TranslationContent("Macska", null), AnswerKey.of("Cat"));
+
+            assertThat(check(shortAnswer, "cat")).isEqualTo(AnswerVerdict.CORRECT);
+            assertThat(check(shortAnswer, "cut")).isEqualTo(AnswerVerdict.INCORRECT);
+        }
+    }
+
+    @Nested
+    class WordBank {
+
+        private final CompiledExercise exercise = compile("WORD_BANK",
+                new WordBankContent("Az alma piros.", List.of("apple", "red", "The", "is")),
+                AnswerKey.of("The apple is red"));
+
+        @Test
+        void acceptsTheExpectedOrder() {
+            assertThat(check(exercise, "The apple is red")).isEqualTo(AnswerVerdict.CORRECT);
+        }
+
+        @Test
+        void reportsAtMostTwoMisplacedWordsAsWrongOrder() {
+            assertThat(check(exercise, "apple The is red")).isEqualTo(AnswerVerdict.ALMOST_CORRECT_WORD_ORDER);
+            assertThat(check(exercise, "red apple is The")).isEqualTo(AnswerVerdict.ALMOST_CORRECT_WORD_ORDER);
+            assertThat(check(exercise, "red is apple The")).isEqualTo(AnswerVerdict.INCORRECT);
+        }
+
+        @Test
+        void rejectsMissingExtraAndUnknownWords() {
+            assertThat(check(exercise, "The apple red")).isEqualTo(AnswerVerdict.INCORRECT);
+            assertThat(check(exercise, "The apple is is red")).isEqualTo(AnswerVerdict.INCORRECT);
+            assertThat(check(exercise, "The pear is red")).isEqualTo(AnswerVerdict.INCORRECT);
+            assertThat(check(exercise, "")).isEqualTo(AnswerVerdict.INCORRECT);
+        }
+
+        @Test
+        void countsRepeatedWordsAsAMultiset() {
+            CompiledExercise repeated = compile("WORD_BANK",
+                    new WordBankContent("A macska a macskát látja.", List.of("the", "cat", "sees", "the", "cat")),
+                    AnswerKey.of("the cat sees the cat"));
+
+            assertThat(check(repeated, "cat the sees the cat")).isEqualTo(AnswerVerdict.ALMOST_CORRECT_WORD_ORDER);
+            assertThat(check(repeated, "the cat sees cat cat")).isEqualTo(AnswerVerdict.INCORRECT);
+        }
+    }
+
+    @Nested
+    class Registry {
+
+        @Test
+        void resolvesUnknownAndMissingTypesToTheTypingMatcher() {
+            assertThat(registry.forType("WORD_BANK")).isInstanceOf(WordBankAnswerMatcher.class);
+            assertThat(registry.forType("IMAGE_CHOICE")).isInstanceOf(ChoiceAnswerMatcher.class);
+            assertThat(registry.forType("LISTENING")).isSameAs(typingMatcher);
+            assertThat(registry.forType(null)).isSameAs(typingMatcher);
+        }
+
+        @Test
+        void rejectsTwoMatchersClaimingTheSameType() {
+            assertThatThrownBy(() -> new AnswerMatcherRegistry(List.of(typingMatcher, new TypingAnswerMatcher()), typingMatcher))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("is claimed by both TypingAnswerMatcher and TypingAnswerMatcher");
+        }
+    }
+
+    private CompiledExercise compile(String type, ExerciseContent content, AnswerKey answerKey) {
+        Lesson lesson = new Lesson();
+        lesson.setLanguage("en");
+        Exercise exercise = new Exercise();
+        exercise.setLesson(lesson);
+        exercise.setType(type);
+        exercise.setContent(content);
+        exercise.setCorrectAnswer(answerKey);
+        return CompiledExercise.of(exercise, normalizer, registry);
+    }
+
+    private AnswerVerdict check(CompiledExercise exercise, String answer) {
+        return exercise.check(normalizer.normalize(answer, exercise.getLanguage()));
+    }
+}
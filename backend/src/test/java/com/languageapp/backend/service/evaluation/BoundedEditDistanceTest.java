@@ -0,0 +1,131 @@
+package com.languageapp.backend.service.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the banded optimal string alignment distance against its edge cases and, on random input,
+ * against a full-matrix reference implementation.
+ */
+class BoundedEditDistanceTest {
+
+    @Test
+    void equalStringsHaveDistanceZero() {
+        assertThat(BoundedEditDistance.distance("the apple is red", "the apple is red", 2)).isZero();
+        assertThat(BoundedEditDistance.distance("", "", 0)).isZero();
+    }
+
+    @Test
+    void emptyStringIsAsFarAsTheOtherStringIsLong() {
+        assertThat(BoundedEditDistance.distance("", "abc", 3)).isEqualTo(3);
+        assertThat(BoundedEditDistance.distance("abc", "", 3)).isEqualTo(3);
+        assertThat(BoundedEditDistance.distance("", "abc", 2)).isEqualTo(3);
+    }
+
+    @Test
+    void adjacentTranspositionCostsOneEdit() {
+        assertThat(BoundedEditDistance.distance("apple", "aplpe", 2)).isEqualTo(1);
+        assertThat(BoundedEditDistance.distance("ab", "ba", 1)).isEqualTo(1);
+        // Optimal string alignment: a transposed pair is not edited again
+        assertThat(BoundedEditDistance.distance("ca", "abc", 5)).isEqualTo(3);
+    }
+
+    @Test
+    void distanceOfExactlyMaxIsWithinAndMaxPlusOneIsNot() {
+        assertThat(BoundedEditDistance.distance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(BoundedEditDistance.isWithin("kitten", "sitting", 3)).isTrue();
+
+        assertThat(BoundedEditDistance.distance("kitten", "sitting", 2)).isEqualTo(3);
+        assertThat(BoundedEditDistance.isWithin("kitten", "sitting", 2)).isFalse();
+    }
+
+    @Test
+    void distancesAboveMaxAreCappedAtMaxPlusOne() {
+        assertThat(BoundedEditDistance.distance("abcdefgh", "hgfedcba", 2)).isEqualTo(3);
+        assertThat(BoundedEditDistance.distance("abc", "xyz", 0)).isEqualTo(1);
+    }
+
+    @Test
+    void lengthDifferenceAboveMaxIsRejectedWithoutComparing() {
+        assertThat(BoundedEditDistance.distance("red", "reddish", 3)).isEqualTo(4);
+        assertThat(BoundedEditDistance.distance("reddish", "red", 4)).isEqualTo(4);
+    }
+
+    @Test
+    void comparesNonAsciiCharactersAsSingleCharacters() {
+        assertThat(BoundedEditDistance.distance("őszibarack", "öszibarack", 1)).isEqualTo(1);
+        assertThat(BoundedEditDistance.distance("tükör", "tkürö", 2)).isEqualTo(2);
+        assertThat(BoundedEditDistance.distance("çiçek", "cicek", 1)).isEqualTo(2);
+    }
+
+    @Test
+    void matchesTheFullMatrixDistanceOnRandomInput() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int round = 0; round < 5_000; round++) {
+            String a = randomWord(random);
+            String b = random.nextInt(3) == 0 ? randomWord(random) : mutate(a, random);
+            int max = random.nextInt(4);
+
+            int expected = Math.min(referenceDistance(a, b), max + 1);
+            assertThat(BoundedEditDistance.distance(a, b, max))
+                    .as("distance(%s, %s, %d)", a, b, max)
+                    .isEqualTo(expected);
+        }
+    }
+
+    private static String randomWord(SplittableRandom random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = random.nextInt(12); i > 0; i--) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    private static String mutate(String word, SplittableRandom random) {
+        StringBuilder mutated = new StringBuilder(word);
+        for (int edits = random.nextInt(5); edits > 0; edits--) {
+            int position = mutated.isEmpty() ? 0 : random.nextInt(mutated.length());
+            switch (random.nextInt(4)) {
+                case 0 -> mutated.insert(position, (char) ('a' + random.nextInt(4)));
+                case 1 -> {
+                    if (!mutated.isEmpty()) mutated.deleteCharAt(position);
+                }
+                case 2 -> {
+                    if (!mutated.isEmpty()) mutated.setCharAt(position, (char) ('a' + random.nextInt(4)));
+                }
+                default -> {
+                    if (position + 1 < mutated.length()) {
+                        char c = mutated.charAt(position);
+                        mutated.setCharAt(position, mutated.charAt(position + 1));
+                        mutated.setCharAt(position + 1, c);
+                    }
+                }
+            }
+        }
+        return mutated.toString();
+    }
+
+    /** Unbounded optimal string alignment distance over the whole matrix. */
+    private static int referenceDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
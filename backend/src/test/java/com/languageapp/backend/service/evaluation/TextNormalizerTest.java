@@ -0,0 +1,58 @@
+package com.languageapp.backend.service.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    private final TextNormalizer normalizer = new TextNormalizer(Set.of("en", "ES "));
+
+    @Test
+    void removesPunctuationLowercasesAndCollapsesWhitespace() {
+        assertThat(normalizer.normalize("  The Apple,  is\tRED!  ", "en")).isEqualTo("the apple is red");
+        assertThat(normalizer.normalize("It's  \"fine\" (really)...", "en")).isEqualTo("its fine really");
+    }
+
+    @Test
+    void treatsUnicodePunctuationAndSpacesLikeTheirAsciiCounterparts() {
+        assertThat(normalizer.normalize("„Jó napot” – mondta…", "hu")).isEqualTo("jó napot mondta");
+        assertThat(normalizer.normalize("«Bonjour» le monde", "fr")).isEqualTo("bonjour le monde");
+    }
+
+    @Test
+    void returnsTheInputInstanceWhenItIsAlreadyNormalized() {
+        String normalized = "the apple is red";
+        assertThat(normalizer.normalize(normalized, "en")).isSameAs(normalized);
+    }
+
+    @Test
+    void nullAndTheLiteralNullNormalizeToTheEmptyString() {
+        assertThat(normalizer.normalize(null, "en")).isEmpty();
+        assertThat(normalizer.normalize("null", "en")).isEmpty();
+        assertThat(normalizer.normalize(" ?! ", "en")).isEmpty();
+    }
+
+    @Test
+    void foldsDiacriticsOnlyForConfiguredLanguages() {
+        assertThat(normalizer.normalize("Café Crème", "en")).isEqualTo("cafe creme");
+        assertThat(normalizer.normalize("Mañana", "es")).isEqualTo("manana");
+        // Hungarian accents distinguish words (kor/kór/kör)
+        assertThat(normalizer.normalize("Kör Kór", "hu")).isEqualTo("kör kór");
+    }
+
+    @Test
+    void matchesLanguageCodesWithRegionAndAnyCase() {
+        assertThat(normalizer.normalize("Café", "en-US")).isEqualTo("cafe");
+        assertThat(normalizer.normalize("Café", "EN_gb")).isEqualTo("cafe");
+        assertThat(normalizer.normalize("Café", null)).isEqualTo("café");
+    }
+
+    @Test
+    void lowercasesTurkishDottedAndDotlessI() {
+        assertThat(normalizer.normalize("İSTANBUL IRMAK", "tr")).isEqualTo("istanbul ırmak");
+        assertThat(normalizer.normalize("IRMAK", "en")).isEqualTo("irmak");
+    }
+}
@@ -0,0 +1,79 @@
+package com.languageapp.backend.service.media;
+
+import com.languageapp.backend.dto.request.ExerciseImportRequest;
+import com.languageapp.backend.dto.request.LessonImportRequest;
+import com.languageapp.backend.dto.request.TopicImportRequest;
+import com.languageapp.backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The targets a curriculum import may make the server download from. No request leaves the test: every URL
+ * is refused before it is fetched.
+ */
+class MediaIngestServiceTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void refusesInternalAddresses() {
+        MediaIngestService service = service(Set.of());
+
+        for (String url : List.of("http://127.0.0.1/a.png", "http://localhost:8081/api/admin/media",
+                "http://169.254.169.254/latest/meta-data/", "http://10.0.0.5/a.png", "http://[::1]/a.png")) {
+            assertThatThrownBy(() -> service.ingest(importOf(url)))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("Media host is not allowed: " + url);
+        }
+    }
+
+    @Test
+    void refusesHostsOutsideTheAllowlist() {
+        MediaIngestService service = service(Set.of("cdn.example.com"));
+
+        assertThatThrownBy(() -> service.ingest(importOf("https://other.example.com/a.png")))
+                .hasMessage("Media host is not allowed: https://other.example.com/a.png");
+    }
+
+    @Test
+    void refusesOtherSchemes() {
+        assertThatThrownBy(() -> service(Set.of()).ingest(importOf("file:///etc/passwd")))
+                .hasMessage("Media URL must be http or https: file:///etc/passwd");
+    }
+
+    @Test
+    void classifiesAddresses() throws Exception {
+        for (String address : List.of("93.184.215.14", "8.8.8.8", "2606:4700::1111")) {
+            assertThat(MediaIngestService.isPublic(InetAddress.getByName(address))).as(address).isTrue();
+        }
+        for (String address : List.of("0.0.0.0", "127.0.0.1", "10.1.2.3", "172.16.0.1", "192.168.1.1",
+                "169.254.169.254", "100.64.0.1", "224.0.0.1", "::1", "fe80::1", "fd00::1", "::ffff:127.0.0.1")) {
+            assertThat(MediaIngestService.isPublic(InetAddress.getByName(address))).as(address).isFalse();
+        }
+    }
+
+    private MediaIngestService service(Set<String> allowedHosts) {
+        return new MediaIngestService(new MediaStore(root, "", 1024), Duration.ofSeconds(1), allowedHosts);
+    }
+
+    private static TopicImportRequest importOf(String imageUrl) {
+        ExerciseImportRequest exercise = new ExerciseImportRequest();
+        exercise.setImageUrl(imageUrl);
+        LessonImportRequest lesson = new LessonImportRequest();
+        lesson.setExercises(List.of(exercise));
+        TopicImportRequest request = new TopicImportRequest();
+        request.setTopicName("Test");
+        request.setLessons(List.of(lesson));
+        return request;
+    }
+}
@@ -0,0 +1,125 @@
+package com.languageapp.backend.service.rating;
+
+import com.languageapp.backend.service.rating.SkillRatingStore.DirtyRating;
+import com.languageapp.backend.service.rating.SkillRatingStore.Rating;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillRatingStoreTest {
+
+    /** Well past the initial capacity of both tables and of the interned UUID array. */
+    private static final int ENTRIES = 3_000;
+
+    private final SkillRatingStore store = new SkillRatingStore();
+
+    @Test
+    void keepsEveryEntryWhenTheTablesGrow() {
+        List<UUID[]> outcomes = updateMany();
+
+        for (int i = 0; i < ENTRIES; i++) {
+            UUID[] ids = outcomes.get(i);
+            assertThat(store.userTopicRating(ids[0], ids[1])).isEqualTo(new Rating(i, i + 1));
+            assertThat(store.lessonRating(ids[2])).isEqualTo(new Rating(-i, i + 2));
+        }
+        assertThat(store.userTopicRating(UUID.randomUUID(), outcomes.getFirst()[1])).isNull();
+        assertThat(store.lessonRating(UUID.randomUUID())).isNull();
+    }
+
+    @Test
+    void drainedPairsDecodeBackToTheOriginalIds() {
+        List<UUID[]> outcomes = updateMany();
+
+        List<DirtyRating> dirty = store.drainDirty();
+
+        List<DirtyRating> expected = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            UUID[] ids = outcomes.get(i);
+            expected.add(new DirtyRating(ids[0], ids[1], i, i + 1));
+            expected.add(new DirtyRating(ids[2], null, -i, i + 2));
+        }
+        assertThat(dirty).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void drainingClearsTheDirtyFlagsUntilTheNextUpdate() {
+        UUID userId = UUID.randomUUID();
+        UUID topicId = UUID.randomUUID();
+        UUID lessonId = UUID.randomUUID();
+        store.update(userId, topicId, new Rating(1510, 1), lessonId, new Rating(1490, 1));
+
+        assertThat(store.drainDirty()).hasSize(2);
+        assertThat(store.drainDirty()).isEmpty();
+
+        store.update(userId, topicId, new Rating(1520, 2), lessonId, new Rating(1480, 2));
+        assertThat(store.drainDirty()).containsExactlyInAnyOrder(
+                new DirtyRating(userId, topicId, 1520, 2),
+                new DirtyRating(lessonId, null, 1480, 2));
+    }
+
+    @Test
+    void markDirtyFlagsDrainedEntriesAgainWithTheirCurrentValues() {
+        UUID userId = UUID.randomUUID();
+        UUID topicId = UUID.randomUUID();
+        UUID lessonId = UUID.randomUUID();
+        store.update(userId, topicId, new Rating(1510, 1), lessonId, new Rating(1490, 1));
+        List<DirtyRating> failedWrite = store.drainDirty();
+
+        // Updated again while the failed write was in flight
+        store.update(userId, topicId, new Rating(1530, 2), lessonId, new Rating(1470, 2));
+        store.drainDirty();
+        store.markDirty(failedWrite);
+
+        assertThat(store.drainDirty()).containsExactlyInAnyOrder(
+                new DirtyRating(userId, topicId, 1530, 2),
+                new DirtyRating(lessonId, null, 1470, 2));
+    }
+
+    @Test
+    void markDirtyIgnoresEntriesThatAreNotStored() {
+        store.markDirty(List.of(
+                new DirtyRating(UUID.randomUUID(), UUID.randomUUID(), 1500, 1),
+                new DirtyRating(UUID.randomUUID(), null, 1500, 1)));
+
+        assertThat(store.drainDirty()).isEmpty();
+    }
+
+    @Test
+    void loadedRatingsAreCleanAndNeverReplaceNewerValues() {
+        UUID userId = UUID.randomUUID();
+        UUID topicId = UUID.randomUUID();
+        UUID lessonId = UUID.randomUUID();
+        store.loadUserTopicRating(userId, topicId, new Rating(1400, 7));
+        store.loadLessonRating(lessonId, new Rating(1600, 9));
+
+        assertThat(store.drainDirty()).isEmpty();
+        assertThat(store.userTopicRating(userId, topicId)).isEqualTo(new Rating(1400, 7));
+
+        store.update(userId, topicId, new Rating(1410, 8), lessonId, new Rating(1590, 10));
+        store.loadUserTopicRating(userId, topicId, new Rating(1400, 7));
+        store.loadLessonRating(lessonId, new Rating(1600, 9));
+
+        assertThat(store.userTopicRating(userId, topicId)).isEqualTo(new Rating(1410, 8));
+        assertThat(store.lessonRating(lessonId)).isEqualTo(new Rating(1590, 10));
+        assertThat(store.drainDirty()).hasSize(2);
+    }
+
+    /**
+     * Records {@value #ENTRIES} outcomes of distinct users, topics and lessons.
+     *
+     * @return the (user, topic, lesson) ids of each outcome, in order
+     */
+    private List<UUID[]> updateMany() {
+        List<UUID[]> outcomes = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            UUID[] ids = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+            store.update(ids[0], ids[1], new Rating(i, i + 1), ids[2], new Rating(-i, i + 2));
+            outcomes.add(ids);
+        }
+        return outcomes;
+    }
+}